@@ -0,0 +1,25 @@
+package de.thi.inf.cnd.rest.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler always enabled, so every result contains the allocation rate
+ * (gc.alloc.rate.norm = bytes allocated per operation). Accepts the usual JMH command line options, e.g.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar JwtServiceBenchmark -f 1 -wi 3 -i 5
+ * </pre>
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,54 @@
+package de.thi.inf.cnd.rest.benchmarks;
+
+import de.thi.inf.cnd.rest.adapter.outgoing.rest.post.JpaPostCrudRepository;
+import de.thi.inf.cnd.rest.adapter.outgoing.rest.post.JpaPostRepositoryImpl;
+import de.thi.inf.cnd.rest.adapter.outgoing.rest.post.PostEntity;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping one page of PostEntity rows to PostInfo in JpaPostRepositoryImpl (entityToDomain),
+ * with the Spring Data repository replaced by a stub that returns prepared entities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityMappingBenchmark {
+
+    @Param({"50", "200"})
+    int pageSize;
+
+    private JpaPostRepositoryImpl repository;
+
+    @Setup
+    public void setUp() {
+        List<PostEntity> entities = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            entities.add(Fixtures.postEntity(i));
+        }
+        // Only the query used by getPosts(limit, null) is needed
+        JpaPostCrudRepository crudRepository = (JpaPostCrudRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{JpaPostCrudRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findNewest")) {
+                        return entities;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        repository = new JpaPostRepositoryImpl(crudRepository, null, 100);
+    }
+
+    @Benchmark
+    public List<PostInfo> entityToDomain() {
+        return repository.getPosts(pageSize, null);
+    }
+}
@@ -0,0 +1,37 @@
+package de.thi.inf.cnd.rest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.thi.inf.cnd.rest.adapter.outgoing.mqtt.PostPublishedEvent;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of the PostPublishedEvent written to the outbox / MQTT for every new post.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventEncodingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private PostPublishedEvent event;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        PostInfo post = Fixtures.postInfo(0);
+        event = new PostPublishedEvent(post.getId(), post.getTitle(), post.getContent(), post.getDate(), post.getUserRef());
+    }
+
+    @Benchmark
+    public String postPublishedEvent() throws Exception {
+        // MqttPostPublisher and OutboxPostPublisher encode the event as String
+        return objectMapper.writeValueAsString(event);
+    }
+}
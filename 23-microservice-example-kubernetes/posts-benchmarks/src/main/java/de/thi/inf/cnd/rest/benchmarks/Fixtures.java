@@ -0,0 +1,35 @@
+package de.thi.inf.cnd.rest.benchmarks;
+
+import de.thi.inf.cnd.rest.adapter.outgoing.rest.post.PostEntity;
+import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Test data of realistic size shared by the benchmarks.
+ */
+final class Fixtures {
+    static final String TITLE = "Cloud native development with Spring Boot";
+    static final String CONTENT = "Hexagonal architecture keeps the domain independent of frameworks and infrastructure. "
+            + "Adapters translate between the outside world and the ports of the application.";
+    static final LocalDateTime DATE = LocalDateTime.of(2025, 11, 12, 10, 30, 15, 123_456_000);
+
+    private Fixtures() {
+    }
+
+    static PostEntity postEntity(int i) {
+        return new PostEntity(UUID.randomUUID(), TITLE + " " + i, CONTENT, DATE.minusMinutes(i), "user-" + (i % 10),
+                i % 20, DATE.plusMinutes(i), i);
+    }
+
+    static PostInfo postInfo(int i) {
+        return new PostInfo(UUID.randomUUID(), TITLE + " " + i, CONTENT, DATE.minusMinutes(i), "user-" + (i % 10),
+                i % 20, DATE.plusMinutes(i), i);
+    }
+
+    static Comment comment(int i) {
+        return new Comment(UUID.randomUUID(), "Great post, thanks for sharing! #" + i, DATE.plusMinutes(i), "user-" + (i % 10));
+    }
+}
@@ -0,0 +1,35 @@
+package de.thi.inf.cnd.rest.benchmarks;
+
+import de.thi.inf.cnd.rest.domain.model.IdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating the ID of a new post or comment with UUID.randomUUID() (shared SecureRandom) and UUIDv7
+ * (ThreadLocalRandom). Run with -t 4 to see the random generator contend across request threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmark {
+
+    @Param({"random", "time-ordered"})
+    String generator;
+
+    private IdGenerator idGenerator;
+
+    @Setup
+    public void setUp() {
+        idGenerator = "random".equals(generator) ? IdGenerator.RANDOM : IdGenerator.TIME_ORDERED;
+    }
+
+    @Benchmark
+    public UUID next() {
+        return idGenerator.next();
+    }
+}
@@ -0,0 +1,52 @@
+package de.thi.inf.cnd.rest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.comment.CommentResponse;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.post.PostDetailResponse;
+import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of GET /posts/{id}: PostDetailResponse with its comments (LocalDateTime as ISO strings).
+ * The ObjectMapper is configured like the one Spring Boot creates for the service.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"0", "10", "100"})
+    int comments;
+
+    private ObjectMapper objectMapper;
+    private PostDetailResponse detail;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as Spring Boot: JSR-310 module registered, dates as ISO strings
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        PostInfo post = Fixtures.postInfo(0);
+        List<CommentResponse> commentResponses = new ArrayList<>();
+        for (int i = 0; i < comments; i++) {
+            Comment comment = Fixtures.comment(i);
+            commentResponses.add(new CommentResponse(comment.getId(), comment.getText(), comment.getDate()));
+        }
+        detail = new PostDetailResponse(post.getId(), post.getTitle(), post.getContent(), post.getDate(), post.getUserRef(),
+                comments, commentResponses, null);
+    }
+
+    @Benchmark
+    public byte[] postDetailResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(detail);
+    }
+}
@@ -0,0 +1,51 @@
+package de.thi.inf.cnd.rest.benchmarks;
+
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.auth.AuthenticatedUser;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.auth.JwtService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtService.validateAuthHeader() for a repeated bearer token, with the verified-token cache enabled
+ * (cache hit: hash + lookup) and disabled (parse and verify the HMAC signature on every call).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+    private static final String SECRET = "your-secret-key-change-in-production";
+
+    @Param({"true", "false"})
+    boolean cached;
+
+    private JwtService jwtService;
+    private String authHeader;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, cached ? 10_000 : 0, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        String token = Jwts.builder()
+                .claim("userId", "65f1c0ffee0000000000beef")
+                .claim("username", "benchmark")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + Duration.ofHours(1).toMillis()))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        authHeader = "Bearer " + token;
+    }
+
+    @Benchmark
+    public AuthenticatedUser validateAuthHeader() {
+        return jwtService.validateAuthHeader(authHeader);
+    }
+}
@@ -0,0 +1,107 @@
+package de.thi.inf.cnd.rest.benchmarks;
+
+import de.thi.inf.cnd.rest.domain.model.IdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput into a posts table with random (UUIDv4) and time-ordered (UUIDv7) primary keys, in JDBC batches
+ * like POST /posts/batch. The table is filled with {@code rows} posts first and keeps growing during the run, so the
+ * cost of inserting into the middle of a large primary key index shows.
+ *
+ * Keys are stored as BINARY(16), as Hibernate maps UUID on MySQL. Runs against in-memory H2 by default; for numbers
+ * that include InnoDB page splits and the buffer pool, point it to a MySQL database:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar KeyInsertBenchmark \
+ *   -p url="jdbc:mysql://localhost:3306/bench?rewriteBatchedStatements=true" -p user=root -p password=secret
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(KeyInsertBenchmark.BATCH_SIZE)
+public class KeyInsertBenchmark {
+    static final int BATCH_SIZE = 100;
+    private static final String TABLE = "key_insert_benchmark";
+
+    @Param({"random", "time-ordered"})
+    String generator;
+
+    @Param("jdbc:h2:mem:key-insert")
+    String url;
+
+    @Param("sa")
+    String user;
+
+    @Param("")
+    String password;
+
+    @Param("200000")
+    int rows;
+
+    private IdGenerator idGenerator;
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup
+    public void setUp() throws SQLException {
+        idGenerator = "random".equals(generator) ? IdGenerator.RANDOM : IdGenerator.TIME_ORDERED;
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + TABLE);
+            statement.execute("create table " + TABLE + " (id binary(16) not null primary key, title varchar(255), "
+                    + "content varchar(255), date timestamp(6), user_ref varchar(255))");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("insert into " + TABLE
+                + " (id, title, content, date, user_ref) values (?, ?, ?, ?, ?)");
+        for (int i = 0; i < rows; i += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table " + TABLE);
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    /**
+     * Inserts and commits {@value #BATCH_SIZE} posts, the score is posts per second.
+     */
+    @Benchmark
+    public int[] insertBatch() throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setBytes(1, toBytes(idGenerator.next()));
+            insert.setString(2, Fixtures.TITLE);
+            insert.setString(3, Fixtures.CONTENT);
+            insert.setTimestamp(4, now);
+            insert.setString(5, "user-" + (i % 10));
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+}
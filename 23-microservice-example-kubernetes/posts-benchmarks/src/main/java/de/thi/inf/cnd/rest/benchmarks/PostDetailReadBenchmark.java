@@ -0,0 +1,182 @@
+package de.thi.inf.cnd.rest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.post.PostDetailResponse;
+import de.thi.inf.cnd.rest.adapter.outgoing.projection.PostDetailDocument;
+import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.Post;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producing the JSON body of GET /posts/{id}: from the posts and comments tables (two queries, comments mapped row by
+ * row, response serialized) and from the post detail projection (one primary key lookup, the stored document is the
+ * body). Runs against in-memory H2 by default, pass -p url=... for another database (see KeyInsertBenchmark).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostDetailReadBenchmark {
+    private static final int POSTS = 1000;
+
+    @Param({"0", "10", "100"})
+    int comments;
+
+    @Param("jdbc:h2:mem:post-detail-read")
+    String url;
+
+    @Param("sa")
+    String user;
+
+    @Param("")
+    String password;
+
+    private ObjectMapper objectMapper;
+    private Connection connection;
+    private UUID[] ids;
+    private PreparedStatement selectPost;
+    private PreparedStatement selectComments;
+    private PreparedStatement selectDetail;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists bench_comment");
+            statement.execute("drop table if exists bench_post");
+            statement.execute("drop table if exists bench_post_detail");
+            statement.execute("create table bench_post (id binary(16) not null primary key, title varchar(255), "
+                    + "content varchar(255), date timestamp(6), user_ref varchar(255), comment_count bigint, "
+                    + "last_comment_at timestamp(6), version bigint)");
+            statement.execute("create table bench_comment (id binary(16) not null primary key, post_id binary(16), "
+                    + "text varchar(255), date timestamp(6), user_ref varchar(255))");
+            statement.execute("create index bench_comment_post_id on bench_comment (post_id)");
+            statement.execute("create table bench_post_detail (post_id binary(16) not null primary key, version bigint, "
+                    + "document clob)");
+        }
+        connection.setAutoCommit(false);
+        ids = new UUID[POSTS];
+        try (PreparedStatement insertPost = connection.prepareStatement("insert into bench_post values (?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement insertComment = connection.prepareStatement("insert into bench_comment values (?, ?, ?, ?, ?)");
+             PreparedStatement insertDetail = connection.prepareStatement("insert into bench_post_detail values (?, ?, ?)")) {
+            for (int i = 0; i < POSTS; i++) {
+                Post post = new Post(UUID.randomUUID(), Fixtures.TITLE, Fixtures.CONTENT, Fixtures.DATE, "user-" + (i % 10),
+                        new ArrayList<>());
+                for (int c = 0; c < comments; c++) {
+                    post.getComments().add(Fixtures.comment(c));
+                }
+                post.setCommentCount(comments);
+                ids[i] = post.getId();
+
+                insertPost.setBytes(1, toBytes(post.getId()));
+                insertPost.setString(2, post.getTitle());
+                insertPost.setString(3, post.getContent());
+                insertPost.setTimestamp(4, Timestamp.valueOf(post.getDate()));
+                insertPost.setString(5, post.getUserRef());
+                insertPost.setLong(6, comments);
+                insertPost.setTimestamp(7, null);
+                insertPost.setLong(8, 0);
+                insertPost.addBatch();
+                for (Comment comment : post.getComments()) {
+                    insertComment.setBytes(1, toBytes(comment.getId()));
+                    insertComment.setBytes(2, toBytes(post.getId()));
+                    insertComment.setString(3, comment.getText());
+                    insertComment.setTimestamp(4, Timestamp.valueOf(comment.getDate()));
+                    insertComment.setString(5, comment.getUserRef());
+                    insertComment.addBatch();
+                }
+                insertDetail.setBytes(1, toBytes(post.getId()));
+                insertDetail.setLong(2, 0);
+                insertDetail.setString(3, objectMapper.writeValueAsString(PostDetailDocument.fromDomain(post)));
+                insertDetail.addBatch();
+            }
+            insertPost.executeBatch();
+            insertComment.executeBatch();
+            insertDetail.executeBatch();
+        }
+        connection.commit();
+        selectPost = connection.prepareStatement("select id, title, content, date, user_ref, comment_count, "
+                + "last_comment_at, version from bench_post where id = ?");
+        selectComments = connection.prepareStatement("select id, text, date, user_ref from bench_comment where post_id = ?");
+        selectDetail = connection.prepareStatement("select version, document from bench_post_detail where post_id = ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table bench_comment");
+            statement.execute("drop table bench_post");
+            statement.execute("drop table bench_post_detail");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    public byte[] sourceTables() throws Exception {
+        UUID id = ids[ThreadLocalRandom.current().nextInt(POSTS)];
+        Post post;
+        selectPost.setBytes(1, toBytes(id));
+        try (ResultSet row = selectPost.executeQuery()) {
+            row.next();
+            post = new Post(id, row.getString(2), row.getString(3), row.getTimestamp(4).toLocalDateTime(),
+                    row.getString(5), new ArrayList<>());
+            post.setCommentCount(row.getLong(6));
+            post.setVersion(row.getLong(8));
+        }
+        selectComments.setBytes(1, toBytes(id));
+        List<Comment> postComments = post.getComments();
+        try (ResultSet rows = selectComments.executeQuery()) {
+            while (rows.next()) {
+                postComments.add(new Comment(toUuid(rows.getBytes(1)), rows.getString(2),
+                        rows.getTimestamp(3).toLocalDateTime(), rows.getString(4)));
+            }
+        }
+        connection.commit();
+        return objectMapper.writeValueAsBytes(PostDetailResponse.fromDomain(post));
+    }
+
+    @Benchmark
+    public byte[] projection(Blackhole blackhole) throws SQLException {
+        UUID id = ids[ThreadLocalRandom.current().nextInt(POSTS)];
+        byte[] body;
+        selectDetail.setBytes(1, toBytes(id));
+        try (ResultSet row = selectDetail.executeQuery()) {
+            row.next();
+            // The version is the ETag
+            blackhole.consume(row.getLong(1));
+            body = row.getString(2).getBytes(StandardCharsets.UTF_8);
+        }
+        connection.commit();
+        return body;
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+
+    private static UUID toUuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
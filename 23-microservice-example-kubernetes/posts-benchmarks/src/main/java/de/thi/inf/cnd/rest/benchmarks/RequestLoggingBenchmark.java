@@ -0,0 +1,110 @@
+package de.thi.inf.cnd.rest.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import de.thi.inf.cnd.rest.RequestLogSampler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one GET /posts/{id} request (the INFO and DEBUG calls of RestPost, PostServiceImpl and the
+ * repository) with Spring Boot's console pattern written to a discarding stream:
+ *
+ * <ul>
+ *     <li>sync - every line formatted and written on the request thread (before)</li>
+ *     <li>async - every line handed to the background appender thread (logback-spring.xml)</li>
+ *     <li>sampled - async, and only 1% of the requests log their INFO lines (posts.logging.sample-rate=0.01)</li>
+ * </ul>
+ *
+ * Run with more threads (-t 4) to include contention on the appender.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestLoggingBenchmark {
+    private static final String CONSOLE_PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 1 --- [post-service] [%15.15t] %-40.40logger{39} : %m%n";
+
+    @Param({"sync", "async", "sampled"})
+    String mode;
+
+    private LoggerContext loggerContext;
+    private RequestLogSampler sampler;
+    private Logger restLogger;
+    private Logger serviceLogger;
+    private Logger repositoryLogger;
+    private UUID id;
+
+    @Setup
+    public void setUp() {
+        loggerContext = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(CONSOLE_PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(loggerContext);
+        console.setEncoder(encoder);
+        console.setOutputStream(OutputStream.nullOutputStream());
+        console.start();
+
+        Appender<ILoggingEvent> appender = console;
+        if (!mode.equals("sync")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(loggerContext);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.addAppender(console);
+            async.start();
+            appender = async;
+        }
+
+        Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+
+        sampler = new RequestLogSampler(mode.equals("sampled") ? 0.01 : 1.0);
+        sampler.install(loggerContext);
+
+        restLogger = loggerContext.getLogger("de.thi.inf.cnd.rest.adapter.ingoing.rest.post.RestPost");
+        serviceLogger = loggerContext.getLogger("de.thi.inf.cnd.rest.application.PostServiceImpl");
+        repositoryLogger = loggerContext.getLogger("de.thi.inf.cnd.rest.adapter.outgoing.rest.post.JpaPostRepositoryImpl");
+        id = UUID.randomUUID();
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public void getPostRequest() {
+        sampler.begin();
+        try {
+            restLogger.info("REST: GET /posts/{} - Fetching post details", id);
+            serviceLogger.info("SERVICE: Getting post with ID: {}", id);
+            repositoryLogger.debug("REPOSITORY: Fetching post with ID: {}", id);
+            repositoryLogger.debug("REPOSITORY: Found post {}", id);
+            serviceLogger.info("SERVICE: Getting comments for post {}", id);
+            serviceLogger.info("SERVICE: Found {} comments for post {}", 5, id);
+            serviceLogger.info("SERVICE: Retrieved post {} with {} comments", id, 5);
+            restLogger.info("REST: GET /posts/{} - Returned post with {} comments", id, 5);
+        } finally {
+            sampler.end();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package de.thi.inf.cnd.rest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.ProtobufResponses;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.post.PostResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of GET /posts written as JSON (Jackson, as for Accept: application/json) and as protobuf
+ * (mapping and encoding, as for Accept: application/x-protobuf). The payload sizes of both are printed
+ * during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseFormatBenchmark {
+
+    @Param({"20", "200"})
+    int posts;
+
+    private ObjectMapper objectMapper;
+    private List<PostResponse> page;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        page = new ArrayList<>(posts);
+        for (int i = 0; i < posts; i++) {
+            page.add(PostResponse.fromDomain(Fixtures.postInfo(i)));
+        }
+        System.out.printf("%nPayload of %d posts: JSON %d bytes, protobuf %d bytes%n", posts, json().length,
+                protobuf().length);
+    }
+
+    @Benchmark
+    public byte[] json() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] protobuf() {
+        return ProtobufResponses.posts(page).toByteArray();
+    }
+}
@@ -0,0 +1,41 @@
+package de.thi.inf.cnd.rest.benchmarks;
+
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.post.PostResponse;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping a page of PostInfo to PostResponse DTOs as done by RestPost.listPosts().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+
+    @Param({"50", "200"})
+    int pageSize;
+
+    private List<PostInfo> posts;
+
+    @Setup
+    public void setUp() {
+        posts = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            posts.add(Fixtures.postInfo(i));
+        }
+    }
+
+    @Benchmark
+    public List<PostResponse> postInfoToResponse() {
+        List<PostResponse> responses = new ArrayList<>(posts.size());
+        posts.forEach(post -> responses.add(PostResponse.fromDomain(post)));
+        return responses;
+    }
+}
@@ -0,0 +1,124 @@
+package de.thi.inf.cnd.rest.benchmarks;
+
+import de.thi.inf.cnd.rest.adapter.outgoing.search.LucenePostSearchIndex;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import de.thi.inf.cnd.rest.domain.model.SearchPage;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of GET /posts/search in the Lucene index, without loading the posts from the database. Posts use a
+ * synthetic vocabulary with Zipf distributed word frequencies, so common query words match a large share of the
+ * posts. Sample mode reports the p99 latency. Building the index for 1M posts (-p posts=1000000) takes a few minutes.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+    private static final int VOCABULARY_SIZE = 50_000;
+    private static final int TITLE_WORDS = 6;
+    private static final int CONTENT_WORDS = 60;
+    private static final int QUERIES = 1024;
+
+    @Param({"100000"})
+    int posts;
+
+    private LucenePostSearchIndex index;
+    private String[] queries;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            vocabulary[i] = word(i);
+        }
+        Zipf zipf = new Zipf(VOCABULARY_SIZE);
+        SplittableRandom random = new SplittableRandom(42);
+
+        index = new LucenePostSearchIndex("");
+        for (int i = 0; i < posts; i++) {
+            PostInfo post = Fixtures.postInfo(i);
+            post.setTitle(text(vocabulary, zipf, random, TITLE_WORDS));
+            post.setContent(text(vocabulary, zipf, random, CONTENT_WORDS));
+            index.index(post);
+        }
+        index.refresh();
+
+        // One or two words, like typical search box input
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = text(vocabulary, zipf, random, 1 + random.nextInt(2));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    public SearchPage<UUID> search() {
+        return index.search(queries[ThreadLocalRandom.current().nextInt(QUERIES)], 0, 20);
+    }
+
+    private static String text(String[] vocabulary, Zipf zipf, SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(vocabulary[zipf.next(random)]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Pronounceable word for a rank, distinct per rank.
+     */
+    private static String word(int rank) {
+        String consonants = "bdfgklmnprstvz";
+        String vowels = "aeiou";
+        StringBuilder word = new StringBuilder();
+        int n = rank + 1;
+        while (n > 0) {
+            word.append(consonants.charAt(n % consonants.length()));
+            n /= consonants.length();
+            word.append(vowels.charAt(n % vowels.length()));
+            n /= vowels.length();
+        }
+        return word.toString();
+    }
+
+    /**
+     * Zipf distribution with exponent 1 over ranks 0..n-1, sampled by binary search in the cumulative weights.
+     */
+    private static final class Zipf {
+        private final double[] cumulative;
+
+        Zipf(int n) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1.0 / (i + 1);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int next(SplittableRandom random) {
+            int i = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(i >= 0 ? i : -i - 1, cumulative.length - 1);
+        }
+    }
+}
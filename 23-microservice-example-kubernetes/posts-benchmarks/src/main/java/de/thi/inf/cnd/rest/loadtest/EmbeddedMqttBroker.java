@@ -0,0 +1,42 @@
+package de.thi.inf.cnd.rest.loadtest;
+
+import io.moquette.broker.Server;
+import io.moquette.broker.config.MemoryConfig;
+
+import java.io.IOException;
+import java.util.Properties;
+
+/**
+ * In-memory Moquette broker standing in for Mosquitto, so post events and cache invalidations are published
+ * over a real MQTT connection without an external broker.
+ */
+class EmbeddedMqttBroker implements AutoCloseable {
+    private final Server server = new Server();
+    private final int port;
+
+    private EmbeddedMqttBroker(int port) {
+        this.port = port;
+    }
+
+    static EmbeddedMqttBroker start(int port) throws IOException {
+        EmbeddedMqttBroker broker = new EmbeddedMqttBroker(port);
+        Properties properties = new Properties();
+        properties.setProperty("host", "localhost");
+        properties.setProperty("port", String.valueOf(port));
+        properties.setProperty("allow_anonymous", "true");
+        properties.setProperty("persistence_enabled", "false");
+        // Moquette defaults to 8 KB, too small for the event of a POST /posts/batch. Mosquitto allows 256 MB
+        properties.setProperty("netty.mqtt.message_size", String.valueOf(16 * 1024 * 1024));
+        broker.server.startServer(new MemoryConfig(properties));
+        return broker;
+    }
+
+    String url() {
+        return "tcp://localhost:" + port;
+    }
+
+    @Override
+    public void close() {
+        server.stopServer();
+    }
+}
@@ -0,0 +1,127 @@
+package de.thi.inf.cnd.rest.loadtest;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Import Benchmark
+ *
+ * Starts the posts service like {@link LoadTest} and imports the same number of posts twice, once with one
+ * {@code POST /posts} per post and once with {@code POST /posts/batch}, and prints the throughput of both in posts/s:
+ *
+ * <pre>
+ * ./mvnw compile exec:java -Dexec.mainClass=de.thi.inf.cnd.rest.loadtest.ImportBenchmark -Dexec.args="--posts=5000 --batch-size=500"
+ * </pre>
+ *
+ * Posts are sent sequentially from one client, so the result is the import time of a single importer.
+ */
+public class ImportBenchmark {
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    public static void main(String[] args) throws Exception {
+        int posts = 5000;
+        int batchSize = 500;
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--posts=")) {
+                posts = Integer.parseInt(arg.substring("--posts=".length()));
+            } else if (arg.startsWith("--batch-size=")) {
+                batchSize = Integer.parseInt(arg.substring("--batch-size=".length()));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+
+        int httpPort = LoadTest.freePort();
+        int grpcPort = LoadTest.freePort();
+        try (EmbeddedMqttBroker broker = EmbeddedMqttBroker.start(LoadTest.freePort());
+             ConfigurableApplicationContext context = LoadTest.startApplication(applicationArgs, broker, httpPort, grpcPort)) {
+            HttpClient http = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+            String baseUrl = "http://localhost:" + httpPort;
+            String authHeader = "Bearer " + token(context.getEnvironment().getRequiredProperty("jwt.secret"));
+
+            // Warm up both endpoints before measuring
+            importSingle(http, baseUrl, authHeader, Math.min(posts, 500));
+            importBatched(http, baseUrl, authHeader, Math.min(posts, 500), batchSize);
+
+            long start = System.nanoTime();
+            importSingle(http, baseUrl, authHeader, posts);
+            double single = posts / seconds(start);
+
+            start = System.nanoTime();
+            importBatched(http, baseUrl, authHeader, posts, batchSize);
+            double batched = posts / seconds(start);
+
+            System.out.printf("%-28s %12s%n", "Import", "posts/s");
+            System.out.printf("%-28s %12.0f%n", "POST /posts", single);
+            System.out.printf("%-28s %12.0f%n", "POST /posts/batch (" + batchSize + ")", batched);
+            System.out.printf("Speedup: %.1fx%n", batched / single);
+        }
+
+        // MQTT and HTTP client threads may still be winding down, don't keep exec:java waiting for them
+        System.exit(0);
+    }
+
+    private static void importSingle(HttpClient http, String baseUrl, String authHeader, int posts)
+            throws IOException, InterruptedException {
+        for (int i = 0; i < posts; i++) {
+            post(http, baseUrl + "/posts", authHeader, postJson(i), 201);
+        }
+    }
+
+    private static void importBatched(HttpClient http, String baseUrl, String authHeader, int posts, int batchSize)
+            throws IOException, InterruptedException {
+        for (int offset = 0; offset < posts; offset += batchSize) {
+            StringJoiner batch = new StringJoiner(",", "[", "]");
+            for (int i = offset; i < Math.min(offset + batchSize, posts); i++) {
+                batch.add(postJson(i));
+            }
+            post(http, baseUrl + "/posts/batch", authHeader, batch.toString(), 201);
+        }
+    }
+
+    private static void post(HttpClient http, String url, String authHeader, String body, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(TIMEOUT)
+                .header("Authorization", authHeader)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != expectedStatus) {
+            throw new IOException("POST " + url + " returned " + response.statusCode());
+        }
+    }
+
+    private static String postJson(int i) {
+        return "{\"title\":\"Imported post " + i + "\",\"content\":\"Content of imported post " + i + "\"}";
+    }
+
+    private static String token(String secret) {
+        return Jwts.builder()
+                .claim("userId", "import-benchmark")
+                .claim("username", "import-benchmark")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + Duration.ofHours(1).toMillis()))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+}
@@ -0,0 +1,113 @@
+package de.thi.inf.cnd.rest.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load at a fixed arrival rate: requests are started on a schedule independent of how fast the service
+ * answers, each on its own virtual thread. Latency is measured from the scheduled start, so time a request spends
+ * waiting because the service (or the max-in-flight limit) is behind is part of its latency instead of silently
+ * lowering the request rate (coordinated omission).
+ */
+class LoadGenerator {
+    private final PostsClient client;
+    private final int rate;
+    private final int maxInFlight;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    LoadGenerator(PostsClient client, int rate, int maxInFlight, Map<Operation, Integer> mix) {
+        this.client = client;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Result run(Duration duration) throws InterruptedException {
+        Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+        Map<Operation, Exception> firstErrors = new ConcurrentHashMap<>();
+        for (Operation operation : operations) {
+            // Microseconds, resizes itself for outliers
+            latencies.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+
+        // Virtual threads are not counted, so this is mostly the threads of the service
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        double intervalNanos = 1_000_000_000.0 / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduled = start + (long) (i * intervalNanos);
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Operation operation = nextOperation();
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        client.execute(operation);
+                    } catch (Exception e) {
+                        errors.get(operation).increment();
+                        firstErrors.putIfAbsent(operation, e);
+                    } finally {
+                        latencies.get(operation).recordValue((System.nanoTime() - scheduled) / 1000);
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+        errors.forEach((operation, count) -> errorCounts.put(operation, count.sum()));
+        return new Result(latencies, errorCounts, firstErrors, elapsed, threads.getPeakThreadCount());
+    }
+
+    private Operation nextOperation() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Latencies in microseconds and failed requests per operation, with the first failure of each operation.
+     * Elapsed includes waiting for the last requests. Peak platform threads is the highest number of live platform
+     * threads in this JVM during the run.
+     */
+    record Result(Map<Operation, Histogram> latencies, Map<Operation, Long> errors,
+                  Map<Operation, Exception> firstErrors, Duration elapsed, int peakPlatformThreads) {
+    }
+}
@@ -0,0 +1,82 @@
+package de.thi.inf.cnd.rest.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the load test result as plain text: a summary table with throughput and latency percentiles per operation,
+ * followed by the full HdrHistogram percentile distribution of each operation. Contains no timestamps, so reports
+ * of two commits can be compared with diff.
+ */
+class LoadReport {
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final LoadTestOptions options;
+    private final LoadGenerator.Result result;
+
+    LoadReport(LoadTestOptions options, LoadGenerator.Result result) {
+        this.options = options;
+        this.result = result;
+    }
+
+    void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            writeSummary(out);
+            for (Map.Entry<Operation, Histogram> entry : result.latencies().entrySet()) {
+                out.println();
+                out.println("# " + entry.getKey().key() + " latency distribution (ms)");
+                entry.getValue().outputPercentileDistribution(out, 5, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    void writeSummary(PrintStream out) {
+        out.printf(Locale.ROOT, "# posts load test: rate=%d/s duration=%ds warmup=%ds posts=%d comments-per-post=%d%n",
+                options.rate(), options.duration().toSeconds(), options.warmup().toSeconds(), options.posts(),
+                options.commentsPerPost());
+        out.printf(Locale.ROOT, "# mix=%s application-args=%s java=%s cpus=%d peak-platform-threads=%d%n",
+                options.describeMix(), options.applicationArgs(), Runtime.version().feature(),
+                Runtime.getRuntime().availableProcessors(), result.peakPlatformThreads());
+        out.printf(Locale.ROOT, "%-26s %9s %7s %12s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "throughput/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<Operation, Histogram> entry : result.latencies().entrySet()) {
+            long errors = result.errors().get(entry.getKey());
+            writeRow(out, entry.getKey().key(), entry.getValue(), errors);
+            total.add(entry.getValue());
+            totalErrors += errors;
+        }
+        writeRow(out, "total", total, totalErrors);
+    }
+
+    private void writeRow(PrintStream out, String name, Histogram histogram, long errors) {
+        double seconds = result.elapsed().toNanos() / 1_000_000_000.0;
+        out.printf(Locale.ROOT, "%-26s %9d %7d %12.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                name,
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / seconds,
+                millis(histogram, 50.0),
+                millis(histogram, 90.0),
+                millis(histogram, 99.0),
+                millis(histogram, 99.9),
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,112 @@
+package de.thi.inf.cnd.rest.loadtest;
+
+import de.thi.inf.cnd.rest.Application;
+import de.thi.inf.cnd.rest.domain.CommentService;
+import de.thi.inf.cnd.rest.domain.PostService;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Load Test
+ *
+ * Starts the posts service in this JVM against in-memory H2 and an embedded MQTT broker, seeds posts and comments
+ * through the domain services and then drives a weighted mix of REST and gRPC requests at a fixed rate.
+ * Throughput and latency percentiles are printed and written to {@code --output} (default target/load-report.txt):
+ *
+ * <pre>
+ * ./mvnw compile exec:java -Dexec.args="--rate=500 --duration=60s --posts=5000"
+ * </pre>
+ */
+public class LoadTest {
+    private static final String USER_REF = "load-test";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LoadGenerator.Result result = run(options);
+
+        LoadReport report = new LoadReport(options, result);
+        report.writeSummary(System.out);
+        report.write(options.output());
+        result.firstErrors().forEach((operation, error) ->
+                System.err.printf("First %s error: %s%n", operation.key(), error));
+        System.out.println("Report written to " + options.output().toAbsolutePath());
+
+        // MQTT and HTTP client threads may still be winding down, don't keep exec:java waiting for them
+        System.exit(0);
+    }
+
+    /**
+     * Starts the service, seeds it and runs the warmup and the measured load. The service is stopped afterwards.
+     */
+    static LoadGenerator.Result run(LoadTestOptions options) throws Exception {
+        int httpPort = freePort();
+        int grpcPort = freePort();
+        try (EmbeddedMqttBroker broker = EmbeddedMqttBroker.start(freePort());
+             ConfigurableApplicationContext context = startApplication(options.applicationArgs(), broker, httpPort, grpcPort)) {
+            List<UUID> postIds = seed(context, options);
+
+            try (PostsClient client = new PostsClient(httpPort, grpcPort, postIds)) {
+                LoadGenerator generator = new LoadGenerator(client, options.rate(), options.maxInFlight(), options.mix());
+                if (!options.warmup().isZero()) {
+                    System.out.printf("Warming up for %ds%n", options.warmup().toSeconds());
+                    generator.run(options.warmup());
+                }
+                System.out.printf("Running %d requests/s for %ds%n", options.rate(), options.duration().toSeconds());
+                return generator.run(options.duration());
+            }
+        }
+    }
+
+    static ConfigurableApplicationContext startApplication(List<String> applicationArgs, EmbeddedMqttBroker broker,
+                                                           int httpPort, int grpcPort) {
+        Map<String, Object> defaults = new LinkedHashMap<>();
+        defaults.put("server.port", httpPort);
+        defaults.put("grpc.server.port", grpcPort);
+        defaults.put("spring.datasource.url", "jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1");
+        // Same database for the reads of the reactive profile
+        defaults.put("spring.r2dbc.url", "r2dbc:h2:mem:///load-test?options=DB_CLOSE_DELAY=-1");
+        defaults.put("mqtt.broker", broker.url());
+        // Per-request INFO logging would flood the console and dominate the results
+        defaults.put("logging.level.de.thi.inf.cnd", "WARN");
+
+        // Passed as arguments to take precedence over application.yml, unless given on the command line
+        List<String> args = new ArrayList<>(applicationArgs);
+        defaults.forEach((name, value) -> {
+            if (args.stream().noneMatch(arg -> arg.startsWith("--" + name + "="))) {
+                args.add("--" + name + "=" + value);
+            }
+        });
+        return new SpringApplicationBuilder(Application.class).run(args.toArray(new String[0]));
+    }
+
+    private static List<UUID> seed(ConfigurableApplicationContext context, LoadTestOptions options) {
+        PostService postService = context.getBean(PostService.class);
+        CommentService commentService = context.getBean(CommentService.class);
+
+        System.out.printf("Seeding %d posts with %d comments each%n", options.posts(), options.commentsPerPost());
+        List<UUID> postIds = new ArrayList<>(options.posts());
+        for (int i = 0; i < options.posts(); i++) {
+            PostInfo post = postService.createPost("Load test post " + i, "Content of load test post " + i, USER_REF);
+            for (int c = 0; c < options.commentsPerPost(); c++) {
+                commentService.addComment(post.getId(), "Comment " + c + " on post " + i, USER_REF);
+            }
+            postIds.add(post.getId());
+        }
+        return postIds;
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package de.thi.inf.cnd.rest.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Command line options of the load test, all as {@code --name=value}. Arguments the load test does not know are
+ * passed on to the posts application, e.g. {@code --spring.threads.virtual.enabled=true}.
+ */
+record LoadTestOptions(int rate,
+                       Duration duration,
+                       Duration warmup,
+                       int posts,
+                       int commentsPerPost,
+                       int maxInFlight,
+                       Map<Operation, Integer> mix,
+                       Path output,
+                       List<String> applicationArgs) {
+
+    static LoadTestOptions parse(String[] args) {
+        int rate = 200;
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(10);
+        int posts = 1000;
+        int commentsPerPost = 5;
+        int maxInFlight = 1000;
+        Map<Operation, Integer> mix = defaultMix();
+        Path output = Path.of("target", "load-report.txt");
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = separator > 0 ? arg.substring(0, separator) : arg;
+            String value = separator > 0 ? arg.substring(separator + 1) : "";
+            switch (name) {
+                case "--rate" -> rate = Integer.parseInt(value);
+                case "--duration" -> duration = DurationStyle.detectAndParse(value);
+                case "--warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "--posts" -> posts = Integer.parseInt(value);
+                case "--comments-per-post" -> commentsPerPost = Integer.parseInt(value);
+                case "--max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "--mix" -> mix = parseMix(value);
+                case "--output" -> output = Path.of(value);
+                default -> applicationArgs.add(arg);
+            }
+        }
+
+        if (rate <= 0 || posts <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("--rate, --posts and --max-in-flight must be positive");
+        }
+        return new LoadTestOptions(rate, duration, warmup, posts, commentsPerPost, maxInFlight, mix, output,
+                List.copyOf(applicationArgs));
+    }
+
+    /**
+     * The same load against a differently configured service, reported to another file.
+     */
+    LoadTestOptions withApplicationArgs(List<String> applicationArgs, Path output) {
+        return new LoadTestOptions(rate, duration, warmup, posts, commentsPerPost, maxInFlight, mix, output,
+                List.copyOf(applicationArgs));
+    }
+
+    String describeMix() {
+        return mix.entrySet().stream()
+                .map(entry -> entry.getKey().key() + ":" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    private static Map<Operation, Integer> defaultMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, operation.defaultWeight());
+        }
+        return mix;
+    }
+
+    // e.g. list-posts:50,get-post:50, operations not listed are not executed
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry, expected operation:weight: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix must contain at least one operation");
+        }
+        return mix;
+    }
+}
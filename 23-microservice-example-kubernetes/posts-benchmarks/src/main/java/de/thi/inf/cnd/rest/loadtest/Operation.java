@@ -0,0 +1,37 @@
+package de.thi.inf.cnd.rest.loadtest;
+
+/**
+ * Requests issued by the load test, with their share of the default mix.
+ */
+enum Operation {
+    LIST_POSTS("list-posts", 30),
+    GET_POST("get-post", 40),
+    GET_COMMENTS("get-comments", 20),
+    GRPC_COUNT_COMMENTS("grpc-count-comments", 5),
+    GRPC_COUNT_COMMENTS_BATCH("grpc-count-comments-batch", 5);
+
+    private final String key;
+    private final int defaultWeight;
+
+    Operation(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String key() {
+        return key;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
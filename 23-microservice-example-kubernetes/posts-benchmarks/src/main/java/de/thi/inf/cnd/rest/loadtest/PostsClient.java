@@ -0,0 +1,82 @@
+package de.thi.inf.cnd.rest.loadtest;
+
+import de.thi.inf.cnd.hexa.grpc.CountCommentsBatchRequest;
+import de.thi.inf.cnd.hexa.grpc.CountCommentsRequest;
+import de.thi.inf.cnd.hexa.grpc.StatisticServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes a single {@link Operation} against the REST and gRPC endpoints, using a random seeded post.
+ */
+class PostsClient implements AutoCloseable {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final int BATCH_SIZE = 20;
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ManagedChannel channel;
+    private final StatisticServiceGrpc.StatisticServiceBlockingStub statistics;
+    private final List<UUID> postIds;
+
+    PostsClient(int httpPort, int grpcPort, List<UUID> postIds) {
+        this.http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(TIMEOUT)
+                .build();
+        this.baseUrl = "http://localhost:" + httpPort;
+        this.channel = ManagedChannelBuilder.forAddress("localhost", grpcPort).usePlaintext().build();
+        this.statistics = StatisticServiceGrpc.newBlockingStub(channel);
+        this.postIds = postIds;
+    }
+
+    /**
+     * Throws if the request fails or the response is not 200 OK.
+     */
+    void execute(Operation operation) throws IOException, InterruptedException {
+        switch (operation) {
+            case LIST_POSTS -> get("/posts?limit=20");
+            case GET_POST -> get("/posts/" + randomPostId());
+            case GET_COMMENTS -> get("/posts/" + randomPostId() + "/comments");
+            case GRPC_COUNT_COMMENTS -> statistics.withDeadlineAfter(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                    .countComments(CountCommentsRequest.newBuilder().setPostId(randomPostId().toString()).build());
+            case GRPC_COUNT_COMMENTS_BATCH -> {
+                CountCommentsBatchRequest.Builder request = CountCommentsBatchRequest.newBuilder();
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    request.addPostId(randomPostId().toString());
+                }
+                statistics.withDeadlineAfter(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS).countCommentsBatch(request.build());
+            }
+        }
+    }
+
+    private void get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).build();
+        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + path + " returned " + response.statusCode());
+        }
+    }
+
+    private UUID randomPostId() {
+        return postIds.get(ThreadLocalRandom.current().nextInt(postIds.size()));
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+        http.close();
+    }
+}
@@ -0,0 +1,101 @@
+package de.thi.inf.cnd.rest.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stack Comparison
+ *
+ * Runs the same load test against three configurations of the posts service, one after another, each with a fresh
+ * application context and in-memory database:
+ *
+ * <ul>
+ *     <li>servlet - Spring MVC on Tomcat, JPA, a platform thread per request</li>
+ *     <li>servlet-virtual - the same with {@code spring.threads.virtual.enabled=true}</li>
+ *     <li>reactive - the reactive profile: WebFlux on Netty, reads through R2DBC</li>
+ * </ul>
+ *
+ * Prints throughput, latency percentiles and the peak number of platform threads of each stack side by side, the
+ * full reports are written to target/stack-&lt;name&gt;.txt. All load test options are supported, plus
+ * {@code --stacks} to run a subset:
+ *
+ * <pre>
+ * ./mvnw compile exec:java -Dexec.mainClass=de.thi.inf.cnd.rest.loadtest.StackComparison -Dexec.args="--rate=2000 --max-in-flight=5000"
+ * </pre>
+ *
+ * The load generator shares the JVM and its CPUs with the service, so compare the stacks with each other rather
+ * than with a deployment.
+ */
+public class StackComparison {
+    private static final Map<String, List<String>> STACKS = new LinkedHashMap<>();
+
+    static {
+        STACKS.put("servlet", List.of());
+        STACKS.put("servlet-virtual", List.of("--spring.threads.virtual.enabled=true"));
+        STACKS.put("reactive", List.of("--spring.profiles.active=reactive"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> stacks = new ArrayList<>(STACKS.keySet());
+        List<String> loadTestArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--stacks=")) {
+                stacks = List.of(arg.substring("--stacks=".length()).split(","));
+            } else {
+                loadTestArgs.add(arg);
+            }
+        }
+        LoadTestOptions options = LoadTestOptions.parse(loadTestArgs.toArray(new String[0]));
+
+        Map<String, LoadGenerator.Result> results = new LinkedHashMap<>();
+        for (String stack : stacks) {
+            List<String> stackArgs = STACKS.get(stack);
+            if (stackArgs == null) {
+                throw new IllegalArgumentException("Unknown stack: " + stack + ", expected one of " + STACKS.keySet());
+            }
+            List<String> applicationArgs = new ArrayList<>(options.applicationArgs());
+            applicationArgs.addAll(stackArgs);
+            // Databases stay open until the JVM exits, every stack gets its own
+            applicationArgs.add("--spring.datasource.url=jdbc:h2:mem:stack-" + stack + ";DB_CLOSE_DELAY=-1");
+            applicationArgs.add("--spring.r2dbc.url=r2dbc:h2:mem:///stack-" + stack + "?options=DB_CLOSE_DELAY=-1");
+            LoadTestOptions stackOptions = options.withApplicationArgs(applicationArgs,
+                    Path.of("target", "stack-" + stack + ".txt"));
+
+            System.out.printf("=== %s ===%n", stack);
+            LoadGenerator.Result result = LoadTest.run(stackOptions);
+            new LoadReport(stackOptions, result).write(stackOptions.output());
+            result.firstErrors().forEach((operation, error) ->
+                    System.err.printf("First %s error (%s): %s%n", operation.key(), stack, error));
+            results.put(stack, result);
+        }
+
+        System.out.printf(Locale.ROOT, "# rate=%d/s max-in-flight=%d duration=%ds mix=%s cpus=%d%n",
+                options.rate(), options.maxInFlight(), options.duration().toSeconds(), options.describeMix(),
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf(Locale.ROOT, "%-16s %12s %7s %9s %9s %9s %9s %8s%n",
+                "stack", "throughput/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "threads");
+        results.forEach((stack, result) -> {
+            Histogram total = new Histogram(3);
+            result.latencies().values().forEach(total::add);
+            long errors = result.errors().values().stream().mapToLong(Long::longValue).sum();
+            System.out.printf(Locale.ROOT, "%-16s %12.1f %7d %9.3f %9.3f %9.3f %9.3f %8d%n",
+                    stack,
+                    total.getTotalCount() / (result.elapsed().toNanos() / 1_000_000_000.0),
+                    errors,
+                    total.getValueAtPercentile(50.0) / 1000.0,
+                    total.getValueAtPercentile(99.0) / 1000.0,
+                    total.getValueAtPercentile(99.9) / 1000.0,
+                    total.getMaxValue() / 1000.0,
+                    result.peakPlatformThreads());
+        });
+
+        // MQTT and HTTP client threads may still be winding down, don't keep exec:java waiting for them
+        System.exit(0);
+    }
+}
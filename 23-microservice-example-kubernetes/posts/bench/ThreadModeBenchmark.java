@@ -0,0 +1,146 @@
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread Mode Benchmark
+ *
+ * Closed-loop HTTP load against a running posts service: {@code concurrency} clients repeatedly fetch a random post
+ * ({@code GET /posts/{id}}) and the first page of posts ({@code GET /posts}) for {@code duration} seconds, then
+ * throughput and latency percentiles are printed as one line. Used by compare-thread-modes.sh to compare platform
+ * and virtual threads, no dependencies besides the JDK:
+ *
+ * <pre>
+ * java bench/ThreadModeBenchmark.java http://localhost:8080 200 30 platform
+ * </pre>
+ */
+public class ThreadModeBenchmark {
+    private static final String DEFAULT_SECRET = "your-secret-key-change-in-production";
+    private static final int SEED_POSTS = 200;
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int durationSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String label = args.length > 3 ? args[3] : "run";
+
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<String> postIds = seed(http, baseUrl);
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Samples> latencies = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Samples samples = new Samples();
+                latencies.add(samples);
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        String path = ThreadLocalRandom.current().nextBoolean()
+                                ? "/posts/" + postIds.get(ThreadLocalRandom.current().nextInt(postIds.size()))
+                                : "/posts?limit=20";
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        samples.add(System.nanoTime() - start);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        int total = latencies.stream().mapToInt(samples -> samples.count).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (Samples samples : latencies) {
+            System.arraycopy(samples.values, 0, all, offset, samples.count);
+            offset += samples.count;
+        }
+        Arrays.sort(all);
+        System.out.printf("%-10s concurrency=%d requests=%d errors=%d throughput=%.1f req/s p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                label, concurrency, total, errors.get(), total / (double) durationSeconds,
+                percentile(all, 0.50), percentile(all, 0.99), all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+
+    /**
+     * Creates posts with a few comments each and returns their IDs.
+     */
+    private static List<String> seed(HttpClient http, String baseUrl) throws Exception {
+        String auth = "Bearer " + token(System.getProperty("jwt.secret", DEFAULT_SECRET));
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < SEED_POSTS; i++) {
+            HttpResponse<Void> created = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/posts"))
+                    .header("Authorization", auth)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Benchmark " + i + "\",\"content\":\"Lorem ipsum dolor sit amet\"}"))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            String location = created.headers().firstValue("Location").orElseThrow(() -> new IllegalStateException("Seeding failed: " + created.statusCode()));
+            String id = location.substring(location.lastIndexOf('/') + 1);
+            ids.add(id);
+            for (int c = 0; c < 5; c++) {
+                http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/posts/" + id + "/comments"))
+                        .header("Authorization", auth)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"text\":\"Comment " + c + "\"}"))
+                        .build(), HttpResponse.BodyHandlers.discarding());
+            }
+        }
+        return ids;
+    }
+
+    private static String token(String secret) throws Exception {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        long exp = System.currentTimeMillis() / 1000 + 3600;
+        String payload = encoder.encodeToString(("{\"userId\":\"benchmark\",\"username\":\"benchmark\",\"exp\":" + exp + "}").getBytes(StandardCharsets.UTF_8));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String signature = encoder.encodeToString(mac.doFinal((header + "." + payload).getBytes(StandardCharsets.UTF_8)));
+        return header + "." + payload + "." + signature;
+    }
+
+    /**
+     * Latencies of one client in nanoseconds, only written by that client.
+     */
+    private static class Samples {
+        long[] values = new long[1 << 14];
+        int count;
+
+        void add(long value) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[count++] = value;
+        }
+    }
+}
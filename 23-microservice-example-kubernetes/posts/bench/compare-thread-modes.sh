@@ -0,0 +1,32 @@
+#!/bin/sh
+# Compares throughput and latency of the posts service with platform and virtual threads.
+#
+# Builds the service, starts it once per thread mode against the embedded H2 database, seeds posts
+# and runs bench/ThreadModeBenchmark.java against it. MQTT is not required.
+#
+# Usage: bench/compare-thread-modes.sh [concurrency] [duration-seconds]
+set -e
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${1:-400}
+DURATION=${2:-30}
+PORT=${PORT:-18080}
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/*-exec.jar | head -1)
+
+for VIRTUAL in false true; do
+    java -jar "$JAR" \
+        --server.port="$PORT" \
+        --grpc.server.port=0 \
+        --spring.threads.virtual.enabled="$VIRTUAL" \
+        --logging.level.root=WARN > "target/thread-mode-$VIRTUAL.log" 2>&1 &
+    PID=$!
+    until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do sleep 1; done
+
+    if [ "$VIRTUAL" = "true" ]; then LABEL=virtual; else LABEL=platform; fi
+    java bench/ThreadModeBenchmark.java "http://localhost:$PORT" "$CONCURRENCY" "$DURATION" "$LABEL"
+
+    kill $PID
+    wait $PID 2> /dev/null || true
+done
@@ -0,0 +1,35 @@
+package de.thi.inf.cnd.rest;
+
+import de.thi.inf.cnd.rest.domain.model.IdGenerator;
+import de.thi.inf.cnd.rest.domain.model.Ids;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ID Generator Configuration
+ *
+ * Selects how IDs of new posts and comments are generated (posts.ids.generator):
+ *
+ * <ul>
+ *     <li>time-ordered - UUIDv7, new rows are appended to the primary key index (default)</li>
+ *     <li>random - UUIDv4, as in earlier versions</li>
+ * </ul>
+ *
+ * Both can be mixed in one table, existing IDs stay valid.
+ */
+@Configuration
+public class IdGeneratorConfig {
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    public IdGeneratorConfig(@Value("${posts.ids.generator:time-ordered}") String generator) {
+        Ids.setGenerator(switch (generator) {
+            case "time-ordered" -> IdGenerator.TIME_ORDERED;
+            case "random" -> IdGenerator.RANDOM;
+            default -> throw new IllegalArgumentException(
+                    "posts.ids.generator must be 'time-ordered' or 'random', was: " + generator);
+        });
+        logger.info("IDS: Generating {} IDs for new posts and comments", generator);
+    }
+}
@@ -0,0 +1,40 @@
+package de.thi.inf.cnd.rest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive Persistence Configuration
+ *
+ * The reactive profile reads through R2DBC and writes through JPA. Spring Boot leaves out the JDBC DataSource as
+ * soon as an R2DBC ConnectionFactory exists, so it is defined here from the usual spring.datasource properties.
+ * Blocking use cases (JPA writes, Lucene searches) run on a separate scheduler and never block a Netty event loop.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactivePersistenceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * More threads than JDBC connections only queue in the connection pool, tasks beyond the queue are rejected.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler(@Value("${posts.reactive.blocking-threads:20}") int threads,
+                                       @Value("${posts.reactive.blocking-queue-size:10000}") int queueSize) {
+        return Schedulers.newBoundedElastic(threads, queueSize, "blocking");
+    }
+}
@@ -0,0 +1,84 @@
+package de.thi.inf.cnd.rest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import de.thi.inf.cnd.rest.adapter.outgoing.datasource.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read Replica Configuration
+ *
+ * Splits reads from writes when {@code posts.datasource.replicas.urls} lists replicas of the primary database.
+ * The DataSource used by JPA, Flyway and the outbox is a LazyConnectionDataSourceProxy: it takes the physical
+ * connection only at the first statement, after the transaction marked it read-only or not. Read-only transactions
+ * get a replica connection, everything else the primary (spring.datasource).
+ *
+ * Replica pools use the credentials and driver of the primary, each has its own Hikari pool, named replica-1,
+ * replica-2, ... in the pool metrics. Not available in the reactive profile, its reads go through R2DBC.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "posts.datasource.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                                      DataSourceProperties properties,
+                                                      @Value("${posts.datasource.replicas.urls}") List<String> urls,
+                                                      @Value("${posts.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+                                                      @Value("${posts.datasource.replicas.connection-timeout:1s}") Duration connectionTimeout,
+                                                      @Value("${posts.datasource.replicas.max-lag:2s}") Duration maxLag,
+                                                      @Value("${posts.datasource.replicas.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+                                                      MeterRegistry meterRegistry) {
+        List<HikariDataSource> pools = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (pools.size() + 1));
+            pool.setJdbcUrl(url);
+            pool.setUsername(properties.determineUsername());
+            pool.setPassword(properties.determinePassword());
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setMaximumPoolSize(maximumPoolSize);
+            // A replica that doesn't answer quickly is skipped, the read goes to another replica or the primary
+            pool.setConnectionTimeout(connectionTimeout.toMillis());
+            // Don't fail the start when a replica is down, the health check keeps trying
+            pool.setInitializationFailTimeout(-1);
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(pool);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, pools, maxLag, lagQuery, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
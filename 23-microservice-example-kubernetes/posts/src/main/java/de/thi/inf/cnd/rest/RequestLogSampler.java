@@ -0,0 +1,87 @@
+package de.thi.inf.cnd.rest;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Request Log Sampler
+ *
+ * Decides per request whether its INFO and DEBUG lines are logged, so a sampled request is logged completely and
+ * the others not at all. Warnings and errors are always logged. Lines logged outside of a request (startup, gRPC,
+ * background jobs) are not sampled.
+ *
+ * Dropped lines are rejected by a Logback turbo filter before a logging event is created or the message formatted,
+ * so they cost little more than the call itself. With a sample rate of 1.0 the filter is not installed at all.
+ */
+@Component
+public class RequestLogSampler {
+    private static final ThreadLocal<Boolean> SAMPLED = new ThreadLocal<>();
+
+    private final double sampleRate;
+    private final SamplingTurboFilter turboFilter = new SamplingTurboFilter();
+    private LoggerContext loggerContext;
+
+    public RequestLogSampler(@Value("${posts.logging.sample-rate:1.0}") double sampleRate) {
+        if (sampleRate < 0.0 || sampleRate > 1.0) {
+            throw new IllegalArgumentException("posts.logging.sample-rate must be between 0.0 and 1.0");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    @PostConstruct
+    void start() {
+        install((LoggerContext) LoggerFactory.getILoggerFactory());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (this.loggerContext != null) {
+            this.loggerContext.getTurboFilterList().remove(this.turboFilter);
+        }
+    }
+
+    /**
+     * Adds the sampling filter to the given context, unless every request is logged anyway.
+     */
+    public void install(LoggerContext loggerContext) {
+        if (this.sampleRate < 1.0) {
+            this.turboFilter.start();
+            loggerContext.addTurboFilter(this.turboFilter);
+            this.loggerContext = loggerContext;
+        }
+    }
+
+    /**
+     * Starts a request on the current thread and decides whether it is logged. Must be followed by {@link #end()}.
+     */
+    public boolean begin() {
+        boolean sampled = this.sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < this.sampleRate;
+        SAMPLED.set(sampled);
+        return sampled;
+    }
+
+    public void end() {
+        SAMPLED.remove();
+    }
+
+    private static class SamplingTurboFilter extends TurboFilter {
+        @Override
+        public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+            if (level != null && level.isGreaterOrEqual(Level.WARN)) {
+                return FilterReply.NEUTRAL;
+            }
+            return Boolean.FALSE.equals(SAMPLED.get()) ? FilterReply.DENY : FilterReply.NEUTRAL;
+        }
+    }
+}
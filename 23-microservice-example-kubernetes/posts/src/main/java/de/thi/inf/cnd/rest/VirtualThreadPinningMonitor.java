@@ -0,0 +1,72 @@
+package de.thi.inf.cnd.rest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Virtual Thread Pinning Monitor
+ *
+ * Listens for JFR jdk.VirtualThreadPinned events, i.e. virtual threads that blocked while holding a monitor
+ * (synchronized) or inside native code and therefore kept their carrier thread busy. Each event longer than the
+ * threshold is logged with the top of its stack and recorded in the jvm.threads.virtual.pinned timer.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "posts.virtual-threads.pinning-diagnostics", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+    private final Timer pinnedTimer;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(@Value("${posts.virtual-threads.pinning-threshold:20ms}") Duration threshold,
+                                       MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads were pinned to their carrier thread while blocking")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        this.recordingStream = new RecordingStream();
+        this.recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        this.recordingStream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        this.recordingStream.startAsync();
+        logger.info("VIRTUAL THREADS: Reporting pinned virtual threads blocked longer than {}", threshold);
+    }
+
+    @PreDestroy
+    void stop() {
+        this.recordingStream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        this.pinnedTimer.record(event.getDuration());
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String stack = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n\tat "));
+        logger.warn("VIRTUAL THREADS: Thread pinned for {} ms\n\tat {}", event.getDuration().toMillis(), stack);
+    }
+}
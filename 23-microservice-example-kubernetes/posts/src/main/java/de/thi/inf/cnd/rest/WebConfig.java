@@ -1,15 +1,22 @@
 package de.thi.inf.cnd.rest;
 
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.ProtobufResponseConverter;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * Web Configuration
  *
- * Configures CORS to allow frontend access from different origins.
+ * Configures CORS to allow frontend access from different origins and adds protobuf responses
+ * ({@code Accept: application/x-protobuf}).
  */
 @Configuration
+@Profile("!reactive")
 public class WebConfig implements WebMvcConfigurer {
 
     @Override
@@ -18,6 +25,13 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("*")
                 .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("Link", "ETag")
                 .allowCredentials(false);
     }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Last, JSON stays the default when the client accepts both
+        converters.add(new ProtobufResponseConverter());
+    }
 }
@@ -0,0 +1,46 @@
+package de.thi.inf.cnd.rest.adapter.ingoing.cli;
+
+import de.thi.inf.cnd.rest.domain.PostService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuild Post Details Command
+ *
+ * {@code java -jar posts.jar --spring.profiles.active=rebuild-post-details} regenerates the post detail projection
+ * and exits, with exit code 0 on success. The profile starts no servers (application-rebuild-post-details.yml), so
+ * the service can keep running and writing meanwhile.
+ */
+@Component
+@Profile("rebuild-post-details")
+public class RebuildPostDetailsCommand implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(RebuildPostDetailsCommand.class);
+
+    private final PostService postService;
+    private final ApplicationContext context;
+
+    public RebuildPostDetailsCommand(PostService postService, ApplicationContext context) {
+        this.postService = postService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            long count = this.postService.rebuildPostDetails();
+            logger.info("CLI: Rebuilt the details of {} posts", count);
+        } catch (RuntimeException e) {
+            logger.error("CLI: Rebuilding post details failed", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(this.context, () -> code));
+    }
+}
@@ -0,0 +1,31 @@
+package de.thi.inf.cnd.rest.adapter.ingoing.grpc;
+
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * gRPC Server Configuration
+ *
+ * With {@code spring.threads.virtual.enabled=true} every gRPC call runs on its own virtual thread instead of
+ * the cached platform thread pool grpc-java uses by default.
+ */
+@Configuration
+public class GrpcServerConfig {
+    private static final Logger logger = LoggerFactory.getLogger(GrpcServerConfig.class);
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public GrpcServerConfigurer virtualThreadGrpcServerConfigurer() {
+        return serverBuilder -> {
+            logger.info("GRPC: Using virtual threads for call execution");
+            serverBuilder.executor(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-vt-", 0).factory()));
+        };
+    }
+}
@@ -1,18 +1,29 @@
 package de.thi.inf.cnd.rest.adapter.ingoing.grpc;
 
+import com.google.protobuf.ByteString;
 import de.thi.inf.cnd.hexa.grpc.*;
 import de.thi.inf.cnd.rest.domain.CommentService;
 import de.thi.inf.cnd.rest.domain.PostService;
 import de.thi.inf.cnd.rest.domain.model.Post;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import net.devh.boot.grpc.server.service.GrpcService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @GrpcService
 public class GrpcStatisticService extends StatisticServiceGrpc.StatisticServiceImplBase {
+    private static final Logger logger = LoggerFactory.getLogger(GrpcStatisticService.class);
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final int MAX_CHUNK_SIZE = 10_000;
 
     private final PostService postService;
     private final CommentService commentService;
@@ -25,7 +36,7 @@ public class GrpcStatisticService extends StatisticServiceGrpc.StatisticServiceI
     @Override
     public void countComments(CountCommentsRequest request, StreamObserver<CountCommentsResponse> responseObserver) {
         UUID postId = UUID.fromString(request.getPostId());
-        int count = this.commentService.getCommentsByPostId(postId).size();
+        int count = (int) this.commentService.countCommentsByPostId(postId);
 
         CountCommentsResponse response = CountCommentsResponse.newBuilder()
                 .setCount(count)
@@ -36,6 +47,27 @@ public class GrpcStatisticService extends StatisticServiceGrpc.StatisticServiceI
     }
 
     @Override
+    public void countCommentsBatch(CountCommentsBatchRequest request, StreamObserver<CountCommentsBatchResponse> responseObserver) {
+        logger.info("GRPC: CountCommentsBatch - Counting comments for {} posts", request.getPostIdCount());
+        Set<UUID> postIds = new HashSet<>();
+        try {
+            request.getPostIdList().forEach(postId -> postIds.add(UUID.fromString(postId)));
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("Invalid post ID: " + e.getMessage()).asRuntimeException());
+            return;
+        }
+
+        CountCommentsBatchResponse.Builder response = CountCommentsBatchResponse.newBuilder();
+        this.commentService.countCommentsByPostIds(postIds)
+                .forEach((postId, count) -> response.putCounts(postId.toString(), count.intValue()));
+
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    // Deprecated in stats.proto, kept for clients that don't use StreamPostIds yet
+    @Override
+    @Deprecated
     public void listPostIds(ListPostIdsRequest request, StreamObserver<ListPostIdsResponse> responseObserver) {
         List<String> postIds = new ArrayList<>();
         this.postService.findAllPosts().forEach(post -> postIds.add(post.getId().toString()));
@@ -47,4 +79,69 @@ public class GrpcStatisticService extends StatisticServiceGrpc.StatisticServiceI
         responseObserver.onNext(response);
         responseObserver.onCompleted();
     }
+
+    /**
+     * Streams all post IDs in chunks. A chunk is only loaded from the repository while the transport
+     * is ready, so a slow client does not make the server buffer the whole ID list.
+     */
+    @Override
+    public void streamPostIds(StreamPostIdsRequest request, StreamObserver<PostIdChunk> responseObserver) {
+        int chunkSize = request.getChunkSize() > 0 ? Math.min(request.getChunkSize(), MAX_CHUNK_SIZE) : DEFAULT_CHUNK_SIZE;
+        logger.info("GRPC: StreamPostIds - Streaming post IDs in chunks of {}", chunkSize);
+        ServerCallStreamObserver<PostIdChunk> serverObserver = (ServerCallStreamObserver<PostIdChunk>) responseObserver;
+        PostIdStreamer streamer = new PostIdStreamer(serverObserver, chunkSize);
+        serverObserver.setOnCancelHandler(streamer::cancel);
+        // Called whenever the transport can take more messages, including once when the call starts
+        serverObserver.setOnReadyHandler(streamer);
+    }
+
+    private static ByteString toBytes(UUID id) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        return ByteString.copyFrom(buffer.array());
+    }
+
+    private class PostIdStreamer implements Runnable {
+        private final ServerCallStreamObserver<PostIdChunk> observer;
+        private final int chunkSize;
+        private UUID lastId;
+        private long sent;
+        private boolean done;
+
+        PostIdStreamer(ServerCallStreamObserver<PostIdChunk> observer, int chunkSize) {
+            this.observer = observer;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public synchronized void run() {
+            try {
+                while (!done && observer.isReady()) {
+                    List<UUID> ids = postService.findPostIds(chunkSize, lastId);
+                    if (!ids.isEmpty()) {
+                        PostIdChunk.Builder chunk = PostIdChunk.newBuilder();
+                        ids.forEach(id -> chunk.addPostId(toBytes(id)));
+                        observer.onNext(chunk.build());
+                        lastId = ids.get(ids.size() - 1);
+                        sent += ids.size();
+                    }
+                    if (ids.size() < chunkSize) {
+                        done = true;
+                        observer.onCompleted();
+                        logger.info("GRPC: StreamPostIds - Streamed {} post IDs", sent);
+                    }
+                }
+            } catch (RuntimeException e) {
+                done = true;
+                logger.error("GRPC: StreamPostIds - Failed after {} post IDs", sent, e);
+                observer.onError(Status.INTERNAL.withDescription(e.getMessage()).asRuntimeException());
+            }
+        }
+
+        synchronized void cancel() {
+            done = true;
+            logger.warn("GRPC: StreamPostIds - Cancelled by client after {} post IDs", sent);
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package de.thi.inf.cnd.rest.adapter.ingoing.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Logs requests slower than posts.logging.slow-request-threshold as a warning, like RequestLoggingFilter. A request
+ * moves between threads here, so its log lines are not sampled.
+ */
+@Component
+@Profile("reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReactiveRequestLoggingFilter implements WebFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRequestLoggingFilter.class);
+
+    private final long slowRequestThresholdNanos;
+
+    public ReactiveRequestLoggingFilter(@Value("${posts.logging.slow-request-threshold:500ms}") Duration slowRequestThreshold) {
+        this.slowRequestThresholdNanos = slowRequestThreshold.toNanos();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            long duration = System.nanoTime() - start;
+            if (duration >= this.slowRequestThresholdNanos) {
+                logger.warn("REST: {} {} - Slow request, took {} ms (status {})", exchange.getRequest().getMethod(),
+                        exchange.getRequest().getPath(), duration / 1_000_000, exchange.getResponse().getStatusCode());
+            }
+        });
+    }
+}
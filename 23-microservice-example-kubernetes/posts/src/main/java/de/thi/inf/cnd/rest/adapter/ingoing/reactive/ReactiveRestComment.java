@@ -0,0 +1,122 @@
+package de.thi.inf.cnd.rest.adapter.ingoing.reactive;
+
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.CursorCodec;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.auth.AuthenticatedUser;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.auth.JwtService;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.comment.CommentResponse;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.comment.CreateCommentRequest;
+import de.thi.inf.cnd.rest.domain.ReactiveCommentService;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The endpoints of RestComment on WebFlux, for the reactive profile.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/posts/{postId}/comments")
+public class ReactiveRestComment {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRestComment.class);
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final ReactiveCommentService commentService;
+    private final JwtService jwtService;
+
+    public ReactiveRestComment(ReactiveCommentService commentService, JwtService jwtService) {
+        this.commentService = commentService;
+        this.jwtService = jwtService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<CommentResponse>>> getComments(@PathVariable UUID postId,
+                                                                   @RequestParam(defaultValue = "50") int limit,
+                                                                   @RequestParam(required = false) String after,
+                                                                   ServerWebExchange exchange) {
+        logger.info("REST: GET /posts/{}/comments - Fetching comments for post (limit: {})", postId, limit);
+        PageCursor cursor = CursorCodec.decode(after);
+        return this.commentService.getComments(postId, limit, cursor).map(page -> {
+            List<CommentResponse> responses = page.getItems().stream()
+                    .map(comment -> new CommentResponse(comment.getId(), comment.getText(), comment.getDate()))
+                    .toList();
+            logger.info("REST: GET /posts/{}/comments - Returned {} comments", postId, responses.size());
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.hasNext()) {
+                URI next = UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+                        .replaceQueryParam("limit", responses.size())
+                        .replaceQueryParam("after", CursorCodec.encode(page.getNext()))
+                        .build()
+                        .toUri();
+                response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+            return response.body(responses);
+        });
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<CommentResponse>> addComment(@RequestHeader("Authorization") String authHeader,
+                                                            @PathVariable UUID postId,
+                                                            @RequestBody CreateCommentRequest request) {
+        logger.info("REST: POST /posts/{}/comments - Adding comment to post", postId);
+        AuthenticatedUser user = jwtService.validateAuthHeader(authHeader);
+        if (user == null) {
+            logger.warn("REST: POST /posts/{}/comments - Unauthorized request", postId);
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+
+        return this.commentService.addComment(postId, request.getText(), user.getUserId())
+                .map(comment -> {
+                    logger.info("REST: POST /posts/{}/comments - Created comment with ID: {} for user: {}", postId,
+                            comment.getId(), user.getUserId());
+                    return ResponseEntity.ok(new CommentResponse(comment.getId(), comment.getText(), comment.getDate()));
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.warn("REST: POST /posts/{}/comments - Post not found", postId);
+                    return ResponseEntity.notFound().build();
+                }));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<CommentResponse>>> addComments(@RequestHeader("Authorization") String authHeader,
+                                                                   @PathVariable UUID postId,
+                                                                   @RequestBody List<CreateCommentRequest> requests) {
+        logger.info("REST: POST /posts/{}/comments/batch - Adding {} comments to post", postId, requests.size());
+        AuthenticatedUser user = jwtService.validateAuthHeader(authHeader);
+        if (user == null) {
+            logger.warn("REST: POST /posts/{}/comments/batch - Unauthorized request", postId);
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            logger.warn("REST: POST /posts/{}/comments/batch - Rejected batch of {} comments", postId, requests.size());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must contain 1 to " + MAX_BATCH_SIZE + " comments");
+        }
+
+        List<String> texts = requests.stream().map(CreateCommentRequest::getText).toList();
+        return this.commentService.addComments(postId, texts, user.getUserId())
+                .map(comments -> {
+                    List<CommentResponse> responses = comments.stream()
+                            .map(comment -> new CommentResponse(comment.getId(), comment.getText(), comment.getDate()))
+                            .toList();
+                    logger.info("REST: POST /posts/{}/comments/batch - Created {} comments for user: {}", postId,
+                            responses.size(), user.getUserId());
+                    return ResponseEntity.ok(responses);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.warn("REST: POST /posts/{}/comments/batch - Post not found", postId);
+                    return ResponseEntity.notFound().build();
+                }));
+    }
+}
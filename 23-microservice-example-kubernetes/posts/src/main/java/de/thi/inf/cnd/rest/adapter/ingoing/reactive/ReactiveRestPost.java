@@ -0,0 +1,281 @@
+package de.thi.inf.cnd.rest.adapter.ingoing.reactive;
+
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.CursorCodec;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.ETags;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.auth.AuthenticatedUser;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.auth.JwtService;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.post.CreatePostRequest;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.post.PostDetailResponse;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.post.PostResponse;
+import de.thi.inf.cnd.rest.domain.ReactivePostService;
+import de.thi.inf.cnd.rest.domain.VersionConflictException;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The endpoints of RestPost on WebFlux, for the reactive profile. Same paths, status codes and JSON; protobuf
+ * responses are not offered.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/posts")
+public class ReactiveRestPost {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRestPost.class);
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_SEARCH_OFFSET = 1000;
+
+    private final ReactivePostService postService;
+    private final JwtService jwtService;
+
+    public ReactiveRestPost(ReactivePostService postService, JwtService jwtService) {
+        this.postService = postService;
+        this.jwtService = jwtService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<PostResponse>>> listPosts(@RequestParam(defaultValue = "50") int limit,
+                                                              @RequestParam(required = false) String after,
+                                                              ServerWebExchange exchange) {
+        logger.info("REST: GET /posts - Listing posts (limit: {})", limit);
+        PageCursor cursor = CursorCodec.decode(after);
+        return this.postService.findPosts(limit, cursor).flatMap(page -> {
+            if (exchange.checkNotModified(ETags.page(page))) {
+                logger.info("REST: GET /posts - Not modified");
+                return Mono.empty();
+            }
+            List<PostResponse> responses = new ArrayList<>(page.getItems().size());
+            page.getItems().forEach(post -> responses.add(PostResponse.fromDomain(post)));
+            logger.info("REST: GET /posts - Returned {} posts", responses.size());
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.hasNext()) {
+                URI next = UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+                        .replaceQueryParam("limit", responses.size())
+                        .replaceQueryParam("after", CursorCodec.encode(page.getNext()))
+                        .build()
+                        .toUri();
+                response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+            return Mono.just(response.body(responses));
+        });
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<PostResponse>>> searchPosts(@RequestParam String q,
+                                                                @RequestParam(defaultValue = "20") int limit,
+                                                                @RequestParam(defaultValue = "0") int offset,
+                                                                ServerWebExchange exchange) {
+        logger.info("REST: GET /posts/search - Searching posts for '{}' (limit: {}, offset: {})", q, limit, offset);
+        if (q.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query must not be empty");
+        }
+        if (offset < 0 || offset > MAX_SEARCH_OFFSET) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Offset must be between 0 and " + MAX_SEARCH_OFFSET);
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        return this.postService.searchPosts(q, offset, pageSize).map(page -> {
+            List<PostResponse> responses = page.getItems().stream().map(PostResponse::fromDomain).toList();
+            logger.info("REST: GET /posts/search - Returned {} posts", responses.size());
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.hasNext() && offset + pageSize <= MAX_SEARCH_OFFSET) {
+                URI next = UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+                        .replaceQueryParam("limit", pageSize)
+                        .replaceQueryParam("offset", offset + pageSize)
+                        .build()
+                        .toUri();
+                response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+            return response.body(responses);
+        });
+    }
+
+    /**
+     * Newline delimited JSON, written as the posts arrive from the database. A slow client slows down the read.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PostResponse> exportPosts() {
+        logger.info("REST: GET /posts/export - Exporting all posts");
+        AtomicLong count = new AtomicLong();
+        return this.postService.exportPosts()
+                .map(post -> {
+                    count.incrementAndGet();
+                    return PostResponse.fromDomain(post);
+                })
+                .doOnComplete(() -> logger.info("REST: GET /posts/export - Exported {} posts", count.get()));
+    }
+
+    /**
+     * Same as the servlet endpoint: with {@code If-None-Match} the version of the post is checked before the document
+     * with the comments is loaded.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<PostDetailResponse>> getPostById(@PathVariable UUID id, ServerWebExchange exchange) {
+        logger.info("REST: GET /posts/{} - Fetching post details", id);
+        Mono<Boolean> notModified = exchange.getRequest().getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)
+                ? this.postService.getPostInfo(id)
+                        .switchIfEmpty(Mono.defer(() -> notFound(id)))
+                        .map(info -> exchange.checkNotModified(ETags.post(info)))
+                : Mono.just(false);
+        return notModified.flatMap(matched -> {
+            if (matched) {
+                logger.info("REST: GET /posts/{} - Not modified", id);
+                return Mono.empty();
+            }
+            return this.postService.getPost(id)
+                    .switchIfEmpty(Mono.defer(() -> notFound(id)))
+                    .flatMap(post -> {
+                        String etag = ETags.post(post);
+                        if (exchange.checkNotModified(etag)) {
+                            logger.info("REST: GET /posts/{} - Not modified", id);
+                            return Mono.empty();
+                        }
+                        PostDetailResponse response = PostDetailResponse.fromDomain(post);
+                        logger.info("REST: GET /posts/{} - Returned post with {} comments", id, response.getComments().size());
+                        return Mono.just(ResponseEntity.ok().eTag(etag).body(response));
+                    });
+        });
+    }
+
+    private static <T> Mono<T> notFound(UUID id) {
+        logger.warn("REST: GET /posts/{} - Post not found", id);
+        return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<String>> addPost(@RequestHeader("Authorization") String authHeader,
+                                                @RequestBody CreatePostRequest request,
+                                                UriComponentsBuilder uriBuilder) {
+        logger.info("REST: POST /posts - Creating new post with title: {}", request.getTitle());
+        AuthenticatedUser user = jwtService.validateAuthHeader(authHeader);
+        if (user == null) {
+            logger.warn("REST: POST /posts - Unauthorized request");
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Unauthorized"));
+        }
+
+        return this.postService.createPost(request.getTitle(), request.getContent(), user.getUserId()).map(post -> {
+            URI location = uriBuilder.path("/posts/{id}").buildAndExpand(post.getId()).toUri();
+            logger.info("REST: POST /posts - Created post with ID: {} for user: {}", post.getId(), user.getUserId());
+            return ResponseEntity.created(location).build();
+        });
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<PostResponse>>> addPosts(@RequestHeader("Authorization") String authHeader,
+                                                             @RequestBody List<CreatePostRequest> requests) {
+        logger.info("REST: POST /posts/batch - Creating {} posts", requests.size());
+        AuthenticatedUser user = jwtService.validateAuthHeader(authHeader);
+        if (user == null) {
+            logger.warn("REST: POST /posts/batch - Unauthorized request");
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            logger.warn("REST: POST /posts/batch - Rejected batch of {} posts", requests.size());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must contain 1 to " + MAX_BATCH_SIZE + " posts");
+        }
+
+        List<PostInfo> posts = new ArrayList<>(requests.size());
+        requests.forEach(request -> {
+            PostInfo post = new PostInfo();
+            post.setTitle(request.getTitle());
+            post.setContent(request.getContent());
+            posts.add(post);
+        });
+        return this.postService.createPosts(posts, user.getUserId()).map(created -> {
+            List<PostResponse> responses = created.stream().map(PostResponse::fromDomain).toList();
+            logger.info("REST: POST /posts/batch - Created {} posts for user: {}", responses.size(), user.getUserId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(responses);
+        });
+    }
+
+    /**
+     * Updates a post with a single conditional UPDATE, see RestPost.
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<PostResponse>> updatePost(@RequestHeader("Authorization") String authHeader,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         @PathVariable UUID id,
+                                                         @RequestBody CreatePostRequest request) {
+        logger.info("REST: PUT /posts/{} - Updating post", id);
+        AuthenticatedUser user = jwtService.validateAuthHeader(authHeader);
+        if (user == null) {
+            logger.warn("REST: PUT /posts/{} - Unauthorized request", id);
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+
+        return this.postService.updatePost(id, request.getTitle(), request.getContent(), user.getUserId(),
+                        ETags.expectedVersion(ifMatch))
+                .map(updatedPost -> {
+                    logger.info("REST: PUT /posts/{} - Successfully updated post", id);
+                    return ResponseEntity.ok().eTag(ETags.version(updatedPost.getVersion()))
+                            .body(PostResponse.fromDomain(updatedPost));
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    logger.warn("REST: PUT /posts/{} - Post not found", id);
+                    return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+                }))
+                .onErrorResume(SecurityException.class, e -> {
+                    logger.warn("REST: PUT /posts/{} - Forbidden: {}", id, e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+                })
+                .onErrorResume(VersionConflictException.class, e -> {
+                    logger.warn("REST: PUT /posts/{} - Conflict: {}", id, e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT)
+                            .eTag(ETags.version(e.getCurrentVersion())).build());
+                });
+    }
+
+    /**
+     * Deletes a post with a single conditional DELETE, see RestPost.
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deletePost(@RequestHeader("Authorization") String authHeader,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @PathVariable UUID id) {
+        logger.info("REST: DELETE /posts/{} - Deleting post", id);
+        AuthenticatedUser user = jwtService.validateAuthHeader(authHeader);
+        if (user == null) {
+            logger.warn("REST: DELETE /posts/{} - Unauthorized request", id);
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Unauthorized"));
+        }
+
+        return this.postService.removePost(id, user.getUserId(), ETags.expectedVersion(ifMatch))
+                .map(deleted -> {
+                    if (!deleted) {
+                        logger.warn("REST: DELETE /posts/{} - Post not found", id);
+                        throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+                    }
+                    logger.info("REST: DELETE /posts/{} - Successfully deleted post", id);
+                    return ResponseEntity.noContent().<String>build();
+                })
+                .onErrorResume(SecurityException.class, e -> {
+                    logger.warn("REST: DELETE /posts/{} - Forbidden: {}", id, e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage()));
+                })
+                .onErrorResume(VersionConflictException.class, e -> {
+                    logger.warn("REST: DELETE /posts/{} - Conflict: {}", id, e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT)
+                            .eTag(ETags.version(e.getCurrentVersion())).body(e.getMessage()));
+                });
+    }
+}
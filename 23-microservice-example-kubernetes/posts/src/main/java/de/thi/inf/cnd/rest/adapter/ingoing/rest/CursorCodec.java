@@ -0,0 +1,36 @@
+package de.thi.inf.cnd.rest.adapter.ingoing.rest;
+
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Cursor Codec
+ *
+ * Converts page cursors to opaque, URL-safe strings for the {@code after} query parameter and back, see
+ * {@link PageCursor#encode()}. Clients must not interpret the value, they just pass it to the next request.
+ */
+public final class CursorCodec {
+
+    private CursorCodec() {
+    }
+
+    public static String encode(PageCursor cursor) {
+        return cursor.encode();
+    }
+
+    /**
+     * @return the decoded cursor, null if {@code value} is null or blank
+     * @throws ResponseStatusException with 400 if the value is not a valid cursor
+     */
+    public static PageCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return PageCursor.decode(value);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package de.thi.inf.cnd.rest.adapter.ingoing.rest;
+
+import de.thi.inf.cnd.rest.domain.model.CursorPage;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * ETags
+ *
+ * Strong entity tags derived from post versions instead of the serialized body, so a request with a matching
+ * {@code If-None-Match} is answered with 304 before comments are loaded or JSON is written.
+ *
+ * JSON and protobuf responses of the same version are different representations and get different tags.
+ * The tag of a post in either representation is accepted in {@code If-Match} to update or delete that version.
+ */
+public final class ETags {
+    /**
+     * Expected version for an {@code If-Match} tag that can't be the tag of a post, matches no post.
+     */
+    public static final long NO_VERSION = -1;
+
+    private static final String PROTOBUF_SUFFIX = "-pb";
+
+    private ETags() {
+    }
+
+    /**
+     * Tag of a single post, changes when the post is updated or commented.
+     */
+    public static String post(PostInfo post, WebRequest request) {
+        return version(post.getVersion(), request);
+    }
+
+    /**
+     * Tag of a single post by its version, e.g. of a post detail document.
+     */
+    public static String version(long version, WebRequest request) {
+        return version(version, suffix(request));
+    }
+
+    /**
+     * Tag of the JSON representation of a post, for the reactive endpoints.
+     */
+    public static String post(PostInfo post) {
+        return version(post.getVersion());
+    }
+
+    /**
+     * Tag of one page of posts: a hash of the IDs and versions of its posts and whether another page follows.
+     * Changes when a post is added to, removed from or modified on the page.
+     */
+    public static String page(CursorPage<PostInfo> page, WebRequest request) {
+        return page(page, suffix(request));
+    }
+
+    /**
+     * Tag of the JSON representation of a page, for the reactive endpoints.
+     */
+    public static String page(CursorPage<PostInfo> page) {
+        return page(page, "");
+    }
+
+    /**
+     * Tag of the JSON representation of a post with the given version.
+     */
+    public static String version(long version) {
+        return version(version, "");
+    }
+
+    /**
+     * The post version a client expects from the tag in {@code If-Match}, either representation. Null without the
+     * header and for {@code *}, {@link #NO_VERSION} for weak tags, several tags and tags of something else: If-Match
+     * requires a strong match with the current tag.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return NO_VERSION;
+        }
+        tag = tag.substring(1, tag.length() - 1);
+        if (tag.endsWith(PROTOBUF_SUFFIX)) {
+            tag = tag.substring(0, tag.length() - PROTOBUF_SUFFIX.length());
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            return NO_VERSION;
+        }
+    }
+
+    /**
+     * Answers 304 if {@code etag} matches {@code If-None-Match}, see {@link WebRequest#checkNotModified(String)}.
+     * Adds {@code Vary: Accept} to the response, caches must not mix up JSON and protobuf responses.
+     */
+    public static boolean checkNotModified(ServletWebRequest request, String etag) {
+        // Can be called twice per request, once with the version of the post and once with the loaded document
+        if (request.getResponse() != null && !request.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+            request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return request.checkNotModified(etag);
+    }
+
+    private static String version(long version, String suffix) {
+        return "\"" + version + suffix + "\"";
+    }
+
+    private static String page(CursorPage<PostInfo> page, String suffix) {
+        ByteBuffer buffer = ByteBuffer.allocate(page.getItems().size() * 24 + 1);
+        page.getItems().forEach(post -> buffer
+                .putLong(post.getId().getMostSignificantBits())
+                .putLong(post.getId().getLeastSignificantBits())
+                .putLong(post.getVersion()));
+        buffer.put((byte) (page.hasNext() ? 1 : 0));
+        byte[] digest = sha256(buffer.array());
+        // 128 bits are plenty to tell versions of the same page apart
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16))
+                + suffix + "\"";
+    }
+
+    /**
+     * Same choice as the content negotiation: protobuf if the most preferred of JSON and protobuf is protobuf.
+     */
+    public static boolean prefersProtobuf(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || !accept.contains(ProtobufResponseConverter.PROTOBUF.getSubtype())) {
+            return false;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+            for (MediaType mediaType : mediaTypes) {
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return false;
+                }
+                if (mediaType.isCompatibleWith(ProtobufResponseConverter.PROTOBUF)) {
+                    return true;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Rejected by the content negotiation later on
+        }
+        return false;
+    }
+
+    private static String suffix(WebRequest request) {
+        return prefersProtobuf(request) ? PROTOBUF_SUFFIX : "";
+    }
+
+    private static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
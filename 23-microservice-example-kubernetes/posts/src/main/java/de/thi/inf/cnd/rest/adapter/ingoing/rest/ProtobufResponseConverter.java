@@ -0,0 +1,100 @@
+package de.thi.inf.cnd.rest.adapter.ingoing.rest;
+
+import com.google.protobuf.Message;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.comment.CommentResponse;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.post.PostDetailResponse;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.post.PostResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Protobuf Response Converter
+ *
+ * Writes post and comment responses as protobuf (posts.proto) when the client sends
+ * {@code Accept: application/x-protobuf}. The controllers keep returning their DTOs, which are mapped by
+ * {@link ProtobufResponses}. Registered after Jackson, so clients accepting any type still get JSON.
+ * Requests are always read as JSON.
+ */
+public class ProtobufResponseConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final Set<Class<?>> TYPES = Set.of(PostResponse.class, PostDetailResponse.class, CommentResponse.class);
+    private static final Set<Class<?>> ELEMENT_TYPES = Set.of(PostResponse.class, CommentResponse.class);
+
+    public ProtobufResponseConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz != null && TYPES.contains(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        // Set.of() rejects null lookups, e.g. for the element type of a raw ResponseEntity without body
+        Class<?> elementType = elementType(type, clazz);
+        return supports(clazz) || (elementType != null && ELEMENT_TYPES.contains(elementType));
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        // Only asked after canWrite(Type, ...) accepted the generic type, the raw List class alone is not enough
+        return getSupportedMediaTypes();
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Message message = ProtobufResponses.toMessage(body, elementType(type, body.getClass()));
+        if (message == null) {
+            throw new HttpMessageNotWritableException("No protobuf message for " + body.getClass().getName());
+        }
+        outputMessage.getHeaders().setContentLength(message.getSerializedSize());
+        message.writeTo(outputMessage.getBody());
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    /**
+     * Element type of {@code List<PostResponse>} or {@code Iterable<CommentResponse>}, null for other types.
+     */
+    private static Class<?> elementType(Type type, Class<?> clazz) {
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        ResolvableType iterable = resolved.as(Iterable.class);
+        return iterable == ResolvableType.NONE ? null : iterable.getGeneric(0).resolve();
+    }
+}
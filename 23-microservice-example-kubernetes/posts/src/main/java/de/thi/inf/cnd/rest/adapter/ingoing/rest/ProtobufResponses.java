@@ -0,0 +1,130 @@
+package de.thi.inf.cnd.rest.adapter.ingoing.rest;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import de.thi.inf.cnd.hexa.rest.CommentListMessage;
+import de.thi.inf.cnd.hexa.rest.CommentMessage;
+import de.thi.inf.cnd.hexa.rest.PostDetailMessage;
+import de.thi.inf.cnd.hexa.rest.PostListMessage;
+import de.thi.inf.cnd.hexa.rest.PostMessage;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.comment.CommentResponse;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.post.PostDetailResponse;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.post.PostResponse;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Protobuf Responses
+ *
+ * Maps the REST response DTOs to their protobuf counterparts defined in posts.proto.
+ */
+public final class ProtobufResponses {
+
+    private ProtobufResponses() {
+    }
+
+    public static PostMessage post(PostResponse post) {
+        PostMessage.Builder message = PostMessage.newBuilder()
+                .setId(bytes(post.getId()))
+                .setTitle(nullToEmpty(post.getTitle()))
+                .setContent(nullToEmpty(post.getContent()))
+                .setUserRef(nullToEmpty(post.getUserRef()))
+                .setCommentCount(post.getCommentCount());
+        if (post.getDate() != null) {
+            message.setDate(timestamp(post.getDate()));
+        }
+        if (post.getLastCommentAt() != null) {
+            message.setLastCommentAt(timestamp(post.getLastCommentAt()));
+        }
+        return message.build();
+    }
+
+    public static PostListMessage posts(Iterable<PostResponse> posts) {
+        PostListMessage.Builder message = PostListMessage.newBuilder();
+        posts.forEach(post -> message.addPosts(post(post)));
+        return message.build();
+    }
+
+    public static CommentMessage comment(CommentResponse comment) {
+        CommentMessage.Builder message = CommentMessage.newBuilder()
+                .setId(bytes(comment.getId()))
+                .setText(nullToEmpty(comment.getText()));
+        if (comment.getDate() != null) {
+            message.setDate(timestamp(comment.getDate()));
+        }
+        return message.build();
+    }
+
+    public static CommentListMessage comments(Iterable<CommentResponse> comments) {
+        CommentListMessage.Builder message = CommentListMessage.newBuilder();
+        comments.forEach(comment -> message.addComments(comment(comment)));
+        return message.build();
+    }
+
+    public static PostDetailMessage postDetail(PostDetailResponse post) {
+        PostDetailMessage.Builder message = PostDetailMessage.newBuilder()
+                .setId(bytes(post.getId()))
+                .setTitle(nullToEmpty(post.getTitle()))
+                .setContent(nullToEmpty(post.getContent()))
+                .setUserRef(nullToEmpty(post.getUserRef()))
+                .setCommentCount(post.getCommentCount())
+                .setCommentsNext(nullToEmpty(post.getCommentsNext()));
+        if (post.getDate() != null) {
+            message.setDate(timestamp(post.getDate()));
+        }
+        if (post.getComments() != null) {
+            post.getComments().forEach(comment -> message.addComments(comment(comment)));
+        }
+        return message.build();
+    }
+
+    /**
+     * @return the message for a response body, null if the type has no protobuf representation
+     */
+    @SuppressWarnings("unchecked")
+    public static Message toMessage(Object body, Class<?> elementType) {
+        if (body instanceof PostResponse post) {
+            return post(post);
+        }
+        if (body instanceof PostDetailResponse post) {
+            return postDetail(post);
+        }
+        if (body instanceof CommentResponse comment) {
+            return comment(comment);
+        }
+        if (body instanceof Iterable<?> items) {
+            if (elementType == PostResponse.class) {
+                return posts((Iterable<PostResponse>) items);
+            }
+            if (elementType == CommentResponse.class) {
+                return comments((Iterable<CommentResponse>) items);
+            }
+        }
+        return null;
+    }
+
+    private static ByteString bytes(UUID id) {
+        if (id == null) {
+            return ByteString.EMPTY;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return ByteString.copyFrom(buffer.array());
+    }
+
+    // Dates are stored as local date time of the service (LocalDateTime.now()), converted with the same zone
+    private static Timestamp timestamp(LocalDateTime date) {
+        Instant instant = date.atZone(ZoneId.systemDefault()).toInstant();
+        return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,55 @@
+package de.thi.inf.cnd.rest.adapter.ingoing.rest;
+
+import de.thi.inf.cnd.rest.RequestLogSampler;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Samples the log lines of each REST request (see {@link RequestLogSampler}) and logs requests slower than
+ * posts.logging.slow-request-threshold as a warning, whether they were sampled or not.
+ */
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+    private final RequestLogSampler sampler;
+    private final long slowRequestThresholdNanos;
+
+    public RequestLoggingFilter(RequestLogSampler sampler,
+                                @Value("${posts.logging.slow-request-threshold:500ms}") Duration slowRequestThreshold) {
+        this.sampler = sampler;
+        this.slowRequestThresholdNanos = slowRequestThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        this.sampler.begin();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long duration = System.nanoTime() - start;
+            if (duration >= this.slowRequestThresholdNanos) {
+                logger.warn("REST: {} {} - Slow request, took {} ms (status {})", request.getMethod(),
+                        request.getRequestURI(), duration / 1_000_000, response.getStatus());
+            }
+            this.sampler.end();
+        }
+    }
+}
@@ -1,13 +1,26 @@
 package de.thi.inf.cnd.rest.adapter.ingoing.rest.auth;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT Service
@@ -23,15 +36,43 @@ import java.nio.charset.StandardCharsets;
  * }
  * // Use user.getUserId() to pass to domain
  * </pre>
+ *
+ * Verified tokens are cached by their SHA-256 hash until the token's exp claim, so repeated requests
+ * with the same bearer token skip parsing and signature verification. Invalid tokens are not cached.
  */
 @Service
 public class JwtService {
 
-    private final SecretKey secretKey;
+    private final JwtParser parser;
+    private final Cache<String, CachedUser> verifiedTokens;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
 
-    public JwtService(@Value("${jwt.secret:your-secret-key-change-in-production}") String secret) {
+    public JwtService(@Value("${jwt.secret:your-secret-key-change-in-production}") String secret,
+                      @Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+                      @Value("${jwt.cache.max-ttl:10m}") Duration maxTtl,
+                      MeterRegistry meterRegistry) {
         // Create signing key from secret (must match auth service secret)
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        SecretKey secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        // Parsers are immutable and thread-safe, build it once
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpires(maxTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.verifiedTokens, "jwt");
+        this.validTokenTimer = Timer.builder("jwt.validation")
+                .description("Time spent parsing and verifying tokens that were not cached")
+                .tag("result", "valid")
+                .register(meterRegistry);
+        this.invalidTokenTimer = Timer.builder("jwt.validation")
+                .description("Time spent parsing and verifying tokens that were not cached")
+                .tag("result", "invalid")
+                .register(meterRegistry);
     }
 
     /**
@@ -52,11 +93,16 @@ public class JwtService {
         // Extract token (remove "Bearer " prefix)
         String token = authorizationHeader.substring(7);
 
+        String tokenHash = hash(token);
+        CachedUser cached = this.verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            return cached.user();
+        }
+
+        long start = System.nanoTime();
         try {
             // Parse and validate token
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
+            Claims claims = this.parser
                     .parseSignedClaims(token)
                     .getPayload();
 
@@ -64,11 +110,58 @@ public class JwtService {
             String userId = claims.get("userId", String.class);
             String username = claims.get("username", String.class);
 
-            return new AuthenticatedUser(userId, username);
+            AuthenticatedUser user = new AuthenticatedUser(userId, username);
+            this.verifiedTokens.put(tokenHash, new CachedUser(user, claims.getExpiration()));
+            this.validTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return user;
 
         } catch (Exception e) {
             // Token is invalid or expired
+            this.invalidTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             return null;
         }
     }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CachedUser(AuthenticatedUser user, Date expiration) {
+    }
+
+    /**
+     * Expires a cached token together with the token itself, at most after maxTtl.
+     */
+    private static class UntilTokenExpires implements Expiry<String, CachedUser> {
+        private final long maxTtlNanos;
+
+        UntilTokenExpires(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, CachedUser value, long currentTime) {
+            if (value.expiration() == null) {
+                return maxTtlNanos;
+            }
+            long untilExpiration = TimeUnit.MILLISECONDS.toNanos(value.expiration().getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(untilExpiration, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedUser value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedUser value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
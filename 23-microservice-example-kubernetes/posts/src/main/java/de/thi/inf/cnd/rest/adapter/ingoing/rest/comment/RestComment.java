@@ -1,23 +1,33 @@
 package de.thi.inf.cnd.rest.adapter.ingoing.rest.comment;
 
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.CursorCodec;
 import de.thi.inf.cnd.rest.adapter.ingoing.rest.auth.AuthenticatedUser;
 import de.thi.inf.cnd.rest.adapter.ingoing.rest.auth.JwtService;
 import de.thi.inf.cnd.rest.domain.CommentService;
 import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.CursorPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/posts/{postId}/comments")
 public class RestComment {
     private static final Logger logger = LoggerFactory.getLogger(RestComment.class);
+    // Upper bound for POST /posts/{postId}/comments/batch
+    private static final int MAX_BATCH_SIZE = 1000;
 
     private final CommentService commentService;
     private final JwtService jwtService;
@@ -27,14 +37,32 @@ public class RestComment {
         this.jwtService = jwtService;
     }
 
+    /**
+     * Lists the comments of a post newest first, one page at a time, backed by the (post_id, date, id) index. If more
+     * comments follow, the response carries a {@code Link: <...>; rel="next"} header pointing at the next page.
+     * The {@code commentsNext} cursor of GET /posts/{id} continues after the comments included there.
+     */
     @GetMapping
-    public Iterable<CommentResponse> getComments(@PathVariable UUID postId) {
-        logger.info("REST: GET /posts/{}/comments - Fetching comments for post", postId);
-        List<CommentResponse> responses = new ArrayList<>();
-        this.commentService.getCommentsByPostId(postId).forEach(comment ->
+    public ResponseEntity<List<CommentResponse>> getComments(@PathVariable UUID postId,
+                                                             @RequestParam(defaultValue = "50") int limit,
+                                                             @RequestParam(required = false) String after) {
+        logger.info("REST: GET /posts/{}/comments - Fetching comments for post (limit: {})", postId, limit);
+        CursorPage<Comment> page = this.commentService.getComments(postId, limit, CursorCodec.decode(after));
+        List<CommentResponse> responses = new ArrayList<>(page.getItems().size());
+        page.getItems().forEach(comment ->
                 responses.add(new CommentResponse(comment.getId(), comment.getText(), comment.getDate())));
         logger.info("REST: GET /posts/{}/comments - Returned {} comments", postId, responses.size());
-        return responses;
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            URI next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("limit", responses.size())
+                    .replaceQueryParam("after", CursorCodec.encode(page.getNext()))
+                    .build()
+                    .toUri();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(responses);
     }
 
     @PostMapping
@@ -58,4 +86,35 @@ public class RestComment {
         logger.info("REST: POST /posts/{}/comments - Created comment with ID: {} for user: {}", postId, comment.getId(), user.getUserId());
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Adds up to {@value #MAX_BATCH_SIZE} comments with batched inserts in one transaction.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<CommentResponse>> addComments(@RequestHeader("Authorization") String authHeader,
+                                                             @PathVariable UUID postId,
+                                                             @RequestBody List<CreateCommentRequest> requests) {
+        logger.info("REST: POST /posts/{}/comments/batch - Adding {} comments to post", postId, requests.size());
+        AuthenticatedUser user = jwtService.validateAuthHeader(authHeader);
+        if (user == null) {
+            logger.warn("REST: POST /posts/{}/comments/batch - Unauthorized request", postId);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            logger.warn("REST: POST /posts/{}/comments/batch - Rejected batch of {} comments", postId, requests.size());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must contain 1 to " + MAX_BATCH_SIZE + " comments");
+        }
+
+        List<String> texts = requests.stream().map(CreateCommentRequest::getText).toList();
+        List<Comment> comments = this.commentService.addComments(postId, texts, user.getUserId());
+        if (comments == null) {
+            logger.warn("REST: POST /posts/{}/comments/batch - Post not found", postId);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        List<CommentResponse> responses = comments.stream()
+                .map(comment -> new CommentResponse(comment.getId(), comment.getText(), comment.getDate()))
+                .toList();
+        logger.info("REST: POST /posts/{}/comments/batch - Created {} comments for user: {}", postId, responses.size(), user.getUserId());
+        return ResponseEntity.ok(responses);
+    }
 }
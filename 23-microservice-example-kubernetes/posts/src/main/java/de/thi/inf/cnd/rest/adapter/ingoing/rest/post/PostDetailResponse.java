@@ -1,6 +1,9 @@
 package de.thi.inf.cnd.rest.adapter.ingoing.rest.post;
 
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.CursorCodec;
 import de.thi.inf.cnd.rest.adapter.ingoing.rest.comment.CommentResponse;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import de.thi.inf.cnd.rest.domain.model.Post;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,5 +21,18 @@ public class PostDetailResponse {
     private String content;
     private LocalDateTime date;
     private String userRef;
+    private long commentCount;
+    // Newest comments only, newest first
     private List<CommentResponse> comments;
+    // Cursor for GET /posts/{id}/comments?after= to continue with the older comments, null if all are included
+    private String commentsNext;
+
+    public static PostDetailResponse fromDomain(Post post) {
+        List<CommentResponse> comments = post.getComments().stream()
+                .map(comment -> new CommentResponse(comment.getId(), comment.getText(), comment.getDate()))
+                .toList();
+        PageCursor next = post.nextCommentsCursor();
+        return new PostDetailResponse(post.getId(), post.getTitle(), post.getContent(), post.getDate(),
+                post.getUserRef(), post.getCommentCount(), comments, next == null ? null : CursorCodec.encode(next));
+    }
 }
@@ -1,5 +1,6 @@
 package de.thi.inf.cnd.rest.adapter.ingoing.rest.post;
 
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,4 +17,11 @@ public class PostResponse {
     private String content;
     private LocalDateTime date;
     private String userRef;
+    private long commentCount;
+    private LocalDateTime lastCommentAt;
+
+    public static PostResponse fromDomain(PostInfo post) {
+        return new PostResponse(post.getId(), post.getTitle(), post.getContent(), post.getDate(), post.getUserRef(),
+                post.getCommentCount(), post.getLastCommentAt());
+    }
 }
@@ -1,71 +1,201 @@
 package de.thi.inf.cnd.rest.adapter.ingoing.rest.post;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.CursorCodec;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.ETags;
 import de.thi.inf.cnd.rest.adapter.ingoing.rest.auth.AuthenticatedUser;
 import de.thi.inf.cnd.rest.adapter.ingoing.rest.auth.JwtService;
-import de.thi.inf.cnd.rest.adapter.ingoing.rest.comment.CommentResponse;
 import de.thi.inf.cnd.rest.domain.PostService;
+import de.thi.inf.cnd.rest.domain.VersionConflictException;
+import de.thi.inf.cnd.rest.domain.model.CursorPage;
 import de.thi.inf.cnd.rest.domain.model.Post;
+import de.thi.inf.cnd.rest.domain.model.PostDetailJson;
 import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import de.thi.inf.cnd.rest.domain.model.SearchPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/posts")
 public class RestPost {
     private static final Logger logger = LoggerFactory.getLogger(RestPost.class);
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+    // Upper bound for POST /posts/batch, larger imports are split by the client
+    private static final int MAX_BATCH_SIZE = 1000;
+    // Search results are ranked, deep pages get expensive and are rarely useful
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_SEARCH_OFFSET = 1000;
 
     private final PostService postService;
     private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
 
-    public RestPost(PostService postService, JwtService jwtService) {
+    public RestPost(PostService postService, JwtService jwtService, ObjectMapper objectMapper) {
         this.postService = postService;
         this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Lists posts newest first, one page at a time. If more posts follow, the response carries a
+     * {@code Link: <...>; rel="next"} header pointing at the next page.
+     *
+     * The ETag covers the versions of the posts on the page. If it matches {@code If-None-Match}, 304 is returned
+     * without writing the page.
+     */
     @GetMapping
-    public Iterable<PostResponse> listPosts() {
-        logger.info("REST: GET /posts - Listing all posts");
-        List<PostResponse> responses = new ArrayList<>();
-        this.postService.findAllPosts().forEach(post ->
-                responses.add(new PostResponse(post.getId(), post.getTitle(), post.getContent(), post.getDate(), post.getUserRef())));
+    public ResponseEntity<List<PostResponse>> listPosts(@RequestParam(defaultValue = "50") int limit,
+                                                        @RequestParam(required = false) String after,
+                                                        ServletWebRequest request) {
+        logger.info("REST: GET /posts - Listing posts (limit: {})", limit);
+        CursorPage<PostInfo> page = this.postService.findPosts(limit, CursorCodec.decode(after));
+        if (ETags.checkNotModified(request, ETags.page(page, request))) {
+            logger.info("REST: GET /posts - Not modified");
+            return null;
+        }
+        List<PostResponse> responses = new ArrayList<>(page.getItems().size());
+        page.getItems().forEach(post -> responses.add(PostResponse.fromDomain(post)));
         logger.info("REST: GET /posts - Returned {} posts", responses.size());
-        return responses;
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            URI next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("limit", responses.size())
+                    .replaceQueryParam("after", CursorCodec.encode(page.getNext()))
+                    .build()
+                    .toUri();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(responses);
+    }
+
+    /**
+     * Full-text search over titles and contents, best match first. Posts matching more words of {@code q}, and
+     * matching them in the title, rank higher. If more results follow, the response carries a
+     * {@code Link: <...>; rel="next"} header. New and changed posts become searchable within about a second.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<PostResponse>> searchPosts(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "20") int limit,
+                                                          @RequestParam(defaultValue = "0") int offset) {
+        logger.info("REST: GET /posts/search - Searching posts for '{}' (limit: {}, offset: {})", q, limit, offset);
+        if (q.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query must not be empty");
+        }
+        if (offset < 0 || offset > MAX_SEARCH_OFFSET) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Offset must be between 0 and " + MAX_SEARCH_OFFSET);
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        SearchPage<PostInfo> page = this.postService.searchPosts(q, offset, pageSize);
+        List<PostResponse> responses = page.getItems().stream().map(PostResponse::fromDomain).toList();
+        logger.info("REST: GET /posts/search - Returned {} posts", responses.size());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext() && offset + pageSize <= MAX_SEARCH_OFFSET) {
+            URI next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("limit", pageSize)
+                    .replaceQueryParam("offset", offset + pageSize)
+                    .build()
+                    .toUri();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(responses);
     }
 
+    /**
+     * Exports all posts as newline delimited JSON. Posts are streamed from the database and written
+     * one by one, the response is flushed every {@value #EXPORT_FLUSH_INTERVAL} posts.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPosts() {
+        logger.info("REST: GET /posts/export - Exporting all posts");
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = this.objectMapper.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Lines are terminated explicitly, no extra separator between root values
+                generator.setRootValueSeparator(null);
+                long count = this.postService.exportPosts(new NdjsonPostWriter(generator));
+                logger.info("REST: GET /posts/export - Exported {} posts", count);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Returns a post with its newest comments, read from the post detail projection with a single lookup. If the post
+     * has more comments, {@code commentsNext} is the cursor for GET /posts/{id}/comments to page through the rest. The
+     * ETag is the version of the post, which changes with every update and new comment. With {@code If-None-Match},
+     * the version is checked first against the post alone (usually from the post cache): a match is answered with 304
+     * before the document with the comments is loaded, parsed or written.
+     *
+     * JSON responses are the stored document as it is. It is only parsed for protobuf responses and for posts without
+     * a document, which are assembled from the posts and comments tables.
+     */
     @GetMapping("/{id}")
-    public PostDetailResponse getPostById(@PathVariable UUID id) {
+    public ResponseEntity<?> getPostById(@PathVariable UUID id, ServletWebRequest request) {
         logger.info("REST: GET /posts/{} - Fetching post details", id);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            PostInfo info = this.postService.getPostInfo(id);
+            if (info == null) {
+                logger.warn("REST: GET /posts/{} - Post not found", id);
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+            }
+            if (ETags.checkNotModified(request, ETags.post(info, request))) {
+                logger.info("REST: GET /posts/{} - Not modified", id);
+                return null;
+            }
+        }
+
+        if (!ETags.prefersProtobuf(request)) {
+            PostDetailJson document = this.postService.getPostJson(id);
+            if (document != null) {
+                // The document may be newer than the version checked above, the response carries its own tag
+                String etag = ETags.version(document.getVersion(), request);
+                if (ETags.checkNotModified(request, etag)) {
+                    logger.info("REST: GET /posts/{} - Not modified", id);
+                    return null;
+                }
+                logger.info("REST: GET /posts/{} - Returned post document", id);
+                return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON)
+                        .body(document.getJson().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
         Post post = this.postService.getPost(id);
         if (post == null) {
             logger.warn("REST: GET /posts/{} - Post not found", id);
             throw new ResponseStatusException(HttpStatus.NOT_FOUND);
         }
+        String etag = ETags.post(post, request);
+        if (ETags.checkNotModified(request, etag)) {
+            logger.info("REST: GET /posts/{} - Not modified", id);
+            return null;
+        }
 
-        // Map comments from domain model to DTOs
-        List<CommentResponse> commentResponses = post.getComments().stream()
-                .map(comment -> new CommentResponse(comment.getId(), comment.getText(), comment.getDate()))
-                .collect(Collectors.toList());
-
-        logger.info("REST: GET /posts/{} - Returned post with {} comments", id, commentResponses.size());
-        return new PostDetailResponse(
-                post.getId(),
-                post.getTitle(),
-                post.getContent(),
-                post.getDate(),
-                post.getUserRef(),
-                commentResponses
-        );
+        PostDetailResponse response = PostDetailResponse.fromDomain(post);
+        logger.info("REST: GET /posts/{} - Returned post with {} comments", id, response.getComments().size());
+        return ResponseEntity.ok().eTag(etag).body(response);
     }
 
     @PostMapping
@@ -92,8 +222,47 @@ public class RestPost {
         return ResponseEntity.created(location).build();
     }
 
+    /**
+     * Creates up to {@value #MAX_BATCH_SIZE} posts with batched inserts in one transaction and publishes them as
+     * a single MQTT message.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<PostResponse>> addPosts(@RequestHeader("Authorization") String authHeader,
+                                                       @RequestBody List<CreatePostRequest> requests) {
+        logger.info("REST: POST /posts/batch - Creating {} posts", requests.size());
+        AuthenticatedUser user = jwtService.validateAuthHeader(authHeader);
+        if (user == null) {
+            logger.warn("REST: POST /posts/batch - Unauthorized request");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            logger.warn("REST: POST /posts/batch - Rejected batch of {} posts", requests.size());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must contain 1 to " + MAX_BATCH_SIZE + " posts");
+        }
+
+        List<PostInfo> posts = new ArrayList<>(requests.size());
+        requests.forEach(request -> {
+            PostInfo post = new PostInfo();
+            post.setTitle(request.getTitle());
+            post.setContent(request.getContent());
+            posts.add(post);
+        });
+        List<PostResponse> responses = this.postService.createPosts(posts, user.getUserId()).stream()
+                .map(PostResponse::fromDomain)
+                .toList();
+
+        logger.info("REST: POST /posts/batch - Created {} posts for user: {}", responses.size(), user.getUserId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(responses);
+    }
+
+    /**
+     * Updates title and content of a post of the authenticated user with a single conditional UPDATE. With
+     * {@code If-Match: <ETag of the post>} the update only succeeds if nobody changed the post since, otherwise
+     * 409 is returned with the current ETag.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<PostResponse> updatePost(@RequestHeader("Authorization") String authHeader,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                      @PathVariable UUID id,
                                                      @RequestBody CreatePostRequest request) {
         logger.info("REST: PUT /posts/{} - Updating post", id);
@@ -105,29 +274,31 @@ public class RestPost {
         }
 
         try {
-            PostInfo updatedPost = this.postService.updatePost(id, request.getTitle(), request.getContent(), user.getUserId());
+            PostInfo updatedPost = this.postService.updatePost(id, request.getTitle(), request.getContent(),
+                    user.getUserId(), ETags.expectedVersion(ifMatch));
             if (updatedPost == null) {
                 logger.warn("REST: PUT /posts/{} - Post not found", id);
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND);
             }
             // Map domain object to DTO
-            PostResponse response = new PostResponse(
-                    updatedPost.getId(),
-                    updatedPost.getTitle(),
-                    updatedPost.getContent(),
-                    updatedPost.getDate(),
-                    updatedPost.getUserRef()
-            );
+            PostResponse response = PostResponse.fromDomain(updatedPost);
             logger.info("REST: PUT /posts/{} - Successfully updated post", id);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(ETags.version(updatedPost.getVersion())).body(response);
         } catch (SecurityException e) {
             logger.warn("REST: PUT /posts/{} - Forbidden: {}", id, e.getMessage());
             return ResponseEntity.status(403).body(null);
+        } catch (VersionConflictException e) {
+            logger.warn("REST: PUT /posts/{} - Conflict: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).eTag(ETags.version(e.getCurrentVersion())).build();
         }
     }
 
+    /**
+     * Deletes a post of the authenticated user with a single conditional DELETE, {@code If-Match} as for updates.
+     */
     @DeleteMapping("/{id}")
     public ResponseEntity deletePost(@RequestHeader("Authorization") String authHeader,
+                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                       @PathVariable UUID id) {
         logger.info("REST: DELETE /posts/{} - Deleting post", id);
         // Check authentication (JWT validation)
@@ -138,12 +309,44 @@ public class RestPost {
         }
 
         try {
-            this.postService.removePost(id, user.getUserId());
+            if (!this.postService.removePost(id, user.getUserId(), ETags.expectedVersion(ifMatch))) {
+                logger.warn("REST: DELETE /posts/{} - Post not found", id);
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+            }
             logger.info("REST: DELETE /posts/{} - Successfully deleted post", id);
             return new ResponseEntity(HttpStatus.NO_CONTENT);
         } catch (SecurityException e) {
             logger.warn("REST: DELETE /posts/{} - Forbidden: {}", id, e.getMessage());
             return ResponseEntity.status(403).body(e.getMessage());
+        } catch (VersionConflictException e) {
+            logger.warn("REST: DELETE /posts/{} - Conflict: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).eTag(ETags.version(e.getCurrentVersion())).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Writes each post as one JSON line and flushes after every {@value #EXPORT_FLUSH_INTERVAL} lines.
+     */
+    private static class NdjsonPostWriter implements Consumer<PostInfo> {
+        private final JsonGenerator generator;
+        private int unflushed;
+
+        NdjsonPostWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void accept(PostInfo post) {
+            try {
+                generator.writeObject(PostResponse.fromDomain(post));
+                generator.writeRaw('\n');
+                if (++unflushed == EXPORT_FLUSH_INTERVAL) {
+                    generator.flush();
+                    unflushed = 0;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         }
     }
 }
@@ -0,0 +1,21 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Invalidation message exchanged between replicas so that every instance drops the same cache entry.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheInvalidation {
+    public enum Type { POST, COMMENTS }
+
+    private String origin;
+    private Type type;
+    private UUID postId;
+}
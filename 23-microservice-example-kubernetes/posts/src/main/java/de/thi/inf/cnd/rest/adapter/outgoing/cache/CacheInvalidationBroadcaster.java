@@ -0,0 +1,15 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Distributes cache invalidations to the other replicas of the service.
+ */
+public interface CacheInvalidationBroadcaster {
+    void broadcast(CacheInvalidation invalidation);
+
+    /**
+     * Registers the listener for invalidations sent by other replicas.
+     */
+    void onInvalidation(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,86 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.cache;
+
+import de.thi.inf.cnd.rest.adapter.outgoing.datasource.ReplicaRoutingDataSource;
+import de.thi.inf.cnd.rest.application.CommentServiceImpl;
+import de.thi.inf.cnd.rest.application.ports.CommentRepository;
+import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Read-through cache in front of a CommentRepository. The newest comments of a post are cached and serve first
+ * pages up to that size, later pages and counts go to the delegate.
+ */
+public class CachingCommentRepository implements CommentRepository {
+    // CommentService reads one comment more than the largest page size, so every first page is served from the cache
+    static final int CACHED_COMMENTS = CommentServiceImpl.MAX_PAGE_SIZE + 1;
+
+    private final CommentRepository delegate;
+    private final PostCache cache;
+
+    public CachingCommentRepository(CommentRepository delegate, PostCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public void save(Comment comment, UUID postId) {
+        this.delegate.save(comment, postId);
+        this.cache.invalidateComments(postId);
+    }
+
+    @Override
+    public void saveAll(List<Comment> comments, UUID postId) {
+        this.delegate.saveAll(comments, postId);
+        this.cache.invalidateComments(postId);
+    }
+
+    @Override
+    public List<Comment> getComments(UUID postId, int limit, PageCursor after) {
+        if (after != null || limit > CACHED_COMMENTS) {
+            return this.delegate.getComments(postId, limit, after);
+        }
+        // Loaded from the primary, see CachingPostRepository.getPost()
+        List<Comment> newest = this.cache.getComments(postId, id -> ReplicaRoutingDataSource.readFromPrimary(
+                () -> this.delegate.getComments(id, CACHED_COMMENTS, null)));
+        return newest.size() > limit ? new ArrayList<>(newest.subList(0, limit)) : newest;
+    }
+
+    @Override
+    public Comment getComment(UUID id) {
+        return this.delegate.getComment(id);
+    }
+
+    @Override
+    public long countByPostId(UUID postId) {
+        return this.delegate.countByPostId(postId);
+    }
+
+    @Override
+    public Map<UUID, Long> countByPostIds(Collection<UUID> postIds) {
+        return this.delegate.countByPostIds(postIds);
+    }
+
+    @Override
+    public int deleteByPostId(UUID postId) {
+        int deleted = this.delegate.deleteByPostId(postId);
+        this.cache.invalidateComments(postId);
+        return deleted;
+    }
+
+    @Override
+    public List<UUID> getCommentIds(int limit, UUID after) {
+        return this.delegate.getCommentIds(limit, after);
+    }
+
+    @Override
+    public int deleteOrphans(UUID from, UUID to) {
+        // Comments of deleted posts were invalidated with the post
+        return this.delegate.deleteOrphans(from, to);
+    }
+}
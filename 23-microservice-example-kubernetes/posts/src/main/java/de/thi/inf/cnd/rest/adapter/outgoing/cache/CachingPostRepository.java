@@ -0,0 +1,114 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.cache;
+
+import de.thi.inf.cnd.rest.adapter.outgoing.datasource.ReplicaRoutingDataSource;
+import de.thi.inf.cnd.rest.application.ports.PostRepository;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Read-through cache in front of a PostRepository. Single posts are cached, lists and streams go to the delegate.
+ */
+public class CachingPostRepository implements PostRepository {
+
+    private final PostRepository delegate;
+    private final PostCache cache;
+
+    public CachingPostRepository(PostRepository delegate, PostCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public void save(PostInfo post) {
+        // Only used for new posts, which can't be cached yet
+        this.delegate.save(post);
+    }
+
+    @Override
+    public void saveAll(List<PostInfo> posts) {
+        // New posts can't be cached yet, no invalidation to broadcast
+        this.delegate.saveAll(posts);
+    }
+
+    @Override
+    public boolean updateIfOwner(PostInfo post, Long expectedVersion) {
+        boolean updated = this.delegate.updateIfOwner(post, expectedVersion);
+        if (updated) {
+            this.cache.invalidatePost(post.getId());
+        } else {
+            // Nothing written, but the cached copy may be the stale version the client sent and the conflict check
+            // reads the post next
+            this.cache.invalidatePostNow(post.getId());
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean deleteIfOwner(UUID id, String userRef, Long expectedVersion) {
+        boolean deleted = this.delegate.deleteIfOwner(id, userRef, expectedVersion);
+        if (deleted) {
+            this.cache.invalidatePost(id);
+            this.cache.invalidateComments(id);
+        } else {
+            // See updateIfOwner()
+            this.cache.invalidatePostNow(id);
+        }
+        return deleted;
+    }
+
+    @Override
+    public PostInfo getPost(UUID id) {
+        // Loaded from the primary: a lagging replica could return the version an invalidation just removed
+        return this.cache.getPost(id, postId -> ReplicaRoutingDataSource.readFromPrimary(
+                () -> this.delegate.getPost(postId)));
+    }
+
+    @Override
+    public Iterable<PostInfo> getPosts() {
+        return this.delegate.getPosts();
+    }
+
+    @Override
+    public List<PostInfo> getPosts(int limit, PageCursor after) {
+        return this.delegate.getPosts(limit, after);
+    }
+
+    @Override
+    public long forEachPost(Consumer<PostInfo> consumer) {
+        return this.delegate.forEachPost(consumer);
+    }
+
+    @Override
+    public List<UUID> getPostIds(int limit, UUID after) {
+        return this.delegate.getPostIds(limit, after);
+    }
+
+    @Override
+    public List<PostInfo> getPosts(Collection<UUID> ids) {
+        // Used for search results, not worth filling the cache with
+        return this.delegate.getPosts(ids);
+    }
+
+    @Override
+    public List<PostInfo> lockPosts(Collection<UUID> ids) {
+        return this.delegate.lockPosts(ids);
+    }
+
+    @Override
+    public List<PostInfo> getPostsModifiedSince(PageCursor after, int limit) {
+        return this.delegate.getPostsModifiedSince(after, limit);
+    }
+
+    @Override
+    public boolean incrementCommentCount(UUID postId, int count, LocalDateTime lastCommentDate) {
+        boolean updated = this.delegate.incrementCommentCount(postId, count, lastCommentDate);
+        this.cache.invalidatePost(postId);
+        return updated;
+    }
+}
@@ -0,0 +1,185 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Post Cache
+ *
+ * Bounded, time limited cache for posts and the comments of a post. Entries are stored and handed out as
+ * copies, because the domain objects are mutable and callers modify them (e.g. PostServiceImpl.updatePost()).
+ *
+ * Invalidations are applied locally and sent to the other replicas through the broadcaster, once the writing
+ * transaction has committed. The TTL bounds how long a replica can serve stale data if it misses an invalidation
+ * message.
+ */
+public class PostCache {
+    private static final Logger logger = LoggerFactory.getLogger(PostCache.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Cache<UUID, PostInfo> posts;
+    private final Cache<UUID, List<Comment>> comments;
+    private final CacheInvalidationBroadcaster broadcaster;
+
+    public PostCache(long maximumSize, Duration ttl, CacheInvalidationBroadcaster broadcaster, MeterRegistry meterRegistry) {
+        this.posts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.comments = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.posts, "posts");
+        CaffeineCacheMetrics.monitor(meterRegistry, this.comments, "comments");
+
+        this.broadcaster = broadcaster;
+        this.broadcaster.onInvalidation(this::evictRemote);
+    }
+
+    /**
+     * Returns the cached post or loads it with {@code loader}. Concurrent misses for the same ID load only once,
+     * and an invalidation waits for a running load, so a stale load cannot overwrite an invalidation. A post the
+     * current transaction has written is loaded around the cache until the transaction completes.
+     */
+    public PostInfo getPost(UUID id, Function<UUID, PostInfo> loader) {
+        if (isPending(CacheInvalidation.Type.POST, id)) {
+            return loader.apply(id);
+        }
+        return copy(this.posts.get(id, loader));
+    }
+
+    public List<Comment> getComments(UUID postId, Function<UUID, List<Comment>> loader) {
+        if (isPending(CacheInvalidation.Type.COMMENTS, postId)) {
+            return loader.apply(postId);
+        }
+        return copy(this.comments.get(postId, loader));
+    }
+
+    /**
+     * Drops the post when the current transaction completes, see {@link #invalidate(CacheInvalidation)}.
+     */
+    public void invalidatePost(UUID postId) {
+        invalidate(new CacheInvalidation(instanceId, CacheInvalidation.Type.POST, postId));
+    }
+
+    public void invalidateComments(UUID postId) {
+        invalidate(new CacheInvalidation(instanceId, CacheInvalidation.Type.COMMENTS, postId));
+    }
+
+    /**
+     * Drops the post right away, also inside a transaction. Only for writes that changed nothing (e.g. a version
+     * conflict), when the cached copy may be the stale one and the caller reads the post again.
+     */
+    public void invalidatePostNow(UUID postId) {
+        CacheInvalidation invalidation = new CacheInvalidation(instanceId, CacheInvalidation.Type.POST, postId);
+        evict(invalidation);
+        this.broadcaster.broadcast(invalidation);
+    }
+
+    /**
+     * Evicting while the writing transaction is still open lets a concurrent read load the old row again and
+     * keep it for the whole TTL. Inside a transaction the entry is therefore dropped after it completes: after a
+     * commit locally and on the other replicas, after a rollback only locally. Until then reads of the same
+     * transaction bypass the entry, so they see their own write. Without a transaction it is dropped immediately.
+     */
+    private void invalidate(CacheInvalidation invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(invalidation);
+            this.broadcaster.broadcast(invalidation);
+            return;
+        }
+        PendingInvalidations pending = pendingInvalidations();
+        if (pending == null) {
+            pending = new PendingInvalidations();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.invalidations.add(invalidation);
+    }
+
+    private boolean isPending(CacheInvalidation.Type type, UUID postId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        PendingInvalidations pending = pendingInvalidations();
+        return pending != null && pending.invalidations.contains(new CacheInvalidation(instanceId, type, postId));
+    }
+
+    private PendingInvalidations pendingInvalidations() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingInvalidations pending && pending.cache() == this) {
+                return pending;
+            }
+        }
+        return null;
+    }
+
+    private void evictRemote(CacheInvalidation invalidation) {
+        if (instanceId.equals(invalidation.getOrigin())) {
+            return;
+        }
+        logger.debug("CACHE: Evicting {} of post {} (invalidated by {})", invalidation.getType(), invalidation.getPostId(), invalidation.getOrigin());
+        evict(invalidation);
+    }
+
+    private void evict(CacheInvalidation invalidation) {
+        switch (invalidation.getType()) {
+            case POST -> this.posts.invalidate(invalidation.getPostId());
+            case COMMENTS -> this.comments.invalidate(invalidation.getPostId());
+        }
+    }
+
+    private static PostInfo copy(PostInfo post) {
+        if (post == null) {
+            return null;
+        }
+        return new PostInfo(post.getId(), post.getTitle(), post.getContent(), post.getDate(), post.getUserRef(),
+                post.getCommentCount(), post.getLastCommentAt(), post.getVersion());
+    }
+
+    private static List<Comment> copy(List<Comment> comments) {
+        if (comments == null) {
+            return null;
+        }
+        List<Comment> copies = new ArrayList<>(comments.size());
+        comments.forEach(comment -> copies.add(new Comment(comment.getId(), comment.getText(), comment.getDate(), comment.getUserRef())));
+        return copies;
+    }
+
+    /**
+     * Invalidations of one transaction, applied when it completes.
+     */
+    private class PendingInvalidations implements TransactionSynchronization {
+        private final Set<CacheInvalidation> invalidations = new LinkedHashSet<>();
+
+        private PostCache cache() {
+            return PostCache.this;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            invalidations.forEach(PostCache.this::evict);
+            if (status == STATUS_COMMITTED) {
+                invalidations.forEach(broadcaster::broadcast);
+            }
+        }
+    }
+}
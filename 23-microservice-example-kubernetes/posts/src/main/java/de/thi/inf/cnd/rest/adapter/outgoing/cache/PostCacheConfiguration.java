@@ -0,0 +1,45 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.cache;
+
+import de.thi.inf.cnd.rest.adapter.outgoing.rest.comment.JpaCommentRepositoryImpl;
+import de.thi.inf.cnd.rest.adapter.outgoing.rest.post.JpaPostRepositoryImpl;
+import de.thi.inf.cnd.rest.application.ports.CommentRepository;
+import de.thi.inf.cnd.rest.application.ports.PostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Post Cache Configuration
+ *
+ * Wraps the JPA repositories with caching decorators. The decorators are the primary beans, so the
+ * application services get the cached variant injected. Disable with {@code posts.cache.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "posts.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class PostCacheConfiguration {
+
+    @Bean
+    public PostCache postCache(@Value("${posts.cache.maximum-size:10000}") long maximumSize,
+                               @Value("${posts.cache.ttl:60s}") Duration ttl,
+                               CacheInvalidationBroadcaster broadcaster,
+                               MeterRegistry meterRegistry) {
+        return new PostCache(maximumSize, ttl, broadcaster, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public PostRepository cachingPostRepository(JpaPostRepositoryImpl delegate, PostCache postCache) {
+        return new CachingPostRepository(delegate, postCache);
+    }
+
+    @Bean
+    @Primary
+    public CommentRepository cachingCommentRepository(JpaCommentRepositoryImpl delegate, PostCache postCache) {
+        return new CachingCommentRepository(delegate, postCache);
+    }
+}
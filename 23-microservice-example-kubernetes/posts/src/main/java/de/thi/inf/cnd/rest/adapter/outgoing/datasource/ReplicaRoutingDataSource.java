@@ -0,0 +1,203 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Replica Routing DataSource
+ *
+ * Hands out connections to read replicas, round robin over the replicas that are currently available, and falls
+ * back to the primary when none is. Used as read-only DataSource of a LazyConnectionDataSourceProxy, so it serves
+ * the connections of {@code @Transactional(readOnly = true)} work.
+ *
+ * A periodic check runs the lag query on every replica. A replica leaves the rotation when it can't be reached,
+ * when replication is stopped or when it lags more than {@code max-lag} behind the primary, and comes back with the
+ * first check that passes. A replica that fails to hand out a connection is taken out immediately.
+ *
+ * Reads that must see the latest commit (e.g. loads into the post cache, which would otherwise keep a stale copy
+ * for the whole TTL) are pinned to the primary with {@link #readFromPrimary(Supplier)}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Column of SHOW REPLICA STATUS, other lag queries return the lag in seconds in their first column
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReads;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools, Duration maxLag,
+                                    String lagQuery, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(pool -> new Replica(pool, meterRegistry)).toList();
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.primaryReads = Counter.builder("posts.datasource.reads")
+                .description("Read-only connections handed out, per target")
+                .tag("target", "primary")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code read} on the primary, also inside a read-only transaction that has no connection yet. A
+     * transaction that already holds a replica connection keeps it.
+     */
+    public static <T> T readFromPrimary(Supplier<T> read) {
+        if (PRIMARY_ONLY.get() != null) {
+            return read.get();
+        }
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PRIMARY_ONLY.get() == null) {
+            int size = this.replicas.size();
+            int start = Math.floorMod(this.next.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = this.replicas.get((start + i) % size);
+                if (!replica.available) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.pool.getConnection();
+                    replica.reads.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.markUnavailable("no connection: " + e.getMessage());
+                }
+            }
+        }
+        this.primaryReads.increment();
+        return this.primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Like HikariDataSource: pooled connections use the credentials of their pool
+        throw new SQLFeatureNotSupportedException("Replica connections use the credentials of their pool");
+    }
+
+    @Scheduled(fixedDelayString = "${posts.datasource.replicas.check-interval-ms:1000}")
+    public void checkReplicas() {
+        this.replicas.forEach(this::check);
+    }
+
+    private void check(Replica replica) {
+        Duration lag;
+        try (Connection connection = replica.pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(5);
+            try (ResultSet result = statement.executeQuery(this.lagQuery)) {
+                lag = result.next() ? lag(result) : Duration.ZERO;  // No row: not a replica, never behind
+            }
+        } catch (SQLException e) {
+            replica.lagSeconds = -1;
+            replica.markUnavailable("check failed: " + e.getMessage());
+            return;
+        }
+        if (lag == null) {
+            replica.lagSeconds = -1;
+            replica.markUnavailable("replication stopped");
+            return;
+        }
+        replica.lagSeconds = lag.toSeconds();
+        if (lag.compareTo(this.maxLag) > 0) {
+            replica.markUnavailable("lags " + lag.toSeconds() + " s behind the primary");
+        } else {
+            replica.markAvailable();
+        }
+    }
+
+    private static Duration lag(ResultSet result) throws SQLException {
+        ResultSetMetaData metaData = result.getMetaData();
+        int column = 1;
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (LAG_COLUMN.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                column = i;
+                break;
+            }
+        }
+        long seconds = result.getLong(column);
+        return result.wasNull() ? null : Duration.ofSeconds(seconds);
+    }
+
+    @Override
+    public void destroy() {
+        this.replicas.forEach(replica -> replica.pool.close());
+    }
+
+    /**
+     * A replica pool and its state. The pool is registered with Micrometer under its pool name
+     * (hikaricp.connections.* with pool=replica-1, ...).
+     */
+    private static class Replica {
+        private final HikariDataSource pool;
+        private final Counter reads;
+        // Joins the rotation with the first check that passes
+        private volatile boolean available;
+        private volatile boolean checked;
+        private volatile long lagSeconds = -1;
+
+        Replica(HikariDataSource pool, MeterRegistry meterRegistry) {
+            this.pool = pool;
+            this.reads = Counter.builder("posts.datasource.reads")
+                    .description("Read-only connections handed out, per target")
+                    .tag("target", pool.getPoolName())
+                    .register(meterRegistry);
+            Gauge.builder("posts.datasource.replica.available", this, replica -> replica.available ? 1 : 0)
+                    .description("1 while the replica serves reads, 0 while it is out of the rotation")
+                    .tag("replica", pool.getPoolName())
+                    .register(meterRegistry);
+            Gauge.builder("posts.datasource.replica.lag", this, replica -> replica.lagSeconds)
+                    .description("Replication lag reported by the last check, -1 if unknown")
+                    .tag("replica", pool.getPoolName())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+
+        void markUnavailable(String reason) {
+            if (this.available || !this.checked) {
+                logger.warn("DATASOURCE: Replica {} taken out of rotation, {}", this.pool.getPoolName(), reason);
+            }
+            this.available = false;
+            this.checked = true;
+        }
+
+        void markAvailable() {
+            if (!this.available) {
+                logger.info("DATASOURCE: Replica {} in rotation, lag {} s", this.pool.getPoolName(), this.lagSeconds);
+            }
+            this.available = true;
+            this.checked = true;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.mqtt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.thi.inf.cnd.rest.adapter.outgoing.cache.CacheInvalidation;
+import de.thi.inf.cnd.rest.adapter.outgoing.cache.CacheInvalidationBroadcaster;
+import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
+import org.eclipse.paho.client.mqttv3.MqttCallbackExtended;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Sends and receives cache invalidations on an MQTT topic shared by all replicas.
+ *
+ * Uses its own connection with a unique client ID per instance, because all replicas share the
+ * configured mqtt.client ID and the broker only allows one connection per client ID.
+ *
+ * Neither connecting nor sending blocks the caller: the connection is opened in the background and retried with
+ * backoff until the broker accepts it (automatic reconnect only takes over after the first successful connect),
+ * and invalidations are handed to the client without waiting for the broker's acknowledgement.
+ */
+@Service
+@ConditionalOnProperty(name = "posts.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class MqttCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster {
+    private static final Logger logger = LoggerFactory.getLogger(MqttCacheInvalidationBroadcaster.class);
+
+    @Value("${mqtt.broker}")
+    private String broker;
+
+    @Value("${mqtt.client}")
+    private String clientId;
+
+    @Value("${posts.cache.invalidation-topic:posts/cache-invalidation}")
+    private String topic;
+
+    private static final Duration MIN_RETRY_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private MqttClient client;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private volatile Consumer<CacheInvalidation> listener = invalidation -> { };
+    private volatile boolean closed;
+
+    public MqttCacheInvalidationBroadcaster(ObjectMapper objectMapper, TaskScheduler taskScheduler) {
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @PostConstruct
+    void connect() {
+        try {
+            this.client = new MqttClient(broker, clientId + "-cache-" + UUID.randomUUID(), new MemoryPersistence());
+            this.client.setCallback(new MqttCallbackExtended() {
+                @Override
+                public void connectComplete(boolean reconnect, String serverURI) {
+                    // Clean sessions lose their subscriptions, subscribe again after every (re)connect
+                    subscribe();
+                }
+
+                @Override
+                public void connectionLost(Throwable cause) {
+                    logger.warn("MQTT: Cache invalidation connection lost: {}", cause.getMessage());
+                }
+
+                @Override
+                public void messageArrived(String topic, MqttMessage message) {
+                }
+
+                @Override
+                public void deliveryComplete(IMqttDeliveryToken token) {
+                }
+            });
+        } catch (MqttException me) {
+            logger.error("MQTT: Failed to create cache invalidation client for broker: {} (reason: {})", broker, me.getReasonCode());
+            return;
+        }
+        this.taskScheduler.schedule(() -> tryConnect(MIN_RETRY_DELAY), Instant.now());
+    }
+
+    private void tryConnect(Duration retryDelay) {
+        if (this.closed) {
+            return;
+        }
+        MqttConnectOptions connOpts = new MqttConnectOptions();
+        connOpts.setCleanSession(true);
+        connOpts.setAutomaticReconnect(true);
+        connOpts.setConnectionTimeout(10);
+        connOpts.setKeepAliveInterval(20);
+
+        try {
+            logger.info("MQTT: Connecting cache invalidation client to broker: {}", broker);
+            this.client.connect(connOpts);
+        } catch (MqttException me) {
+            // Other replicas fall back to the cache TTL until the connection is up
+            logger.error("MQTT: Failed to connect cache invalidation client to broker: {} (reason: {}), retrying in {} s",
+                    broker, me.getReasonCode(), retryDelay.toSeconds());
+            Duration nextDelay = retryDelay.multipliedBy(2).compareTo(MAX_RETRY_DELAY) < 0
+                    ? retryDelay.multipliedBy(2) : MAX_RETRY_DELAY;
+            this.taskScheduler.schedule(() -> tryConnect(nextDelay), Instant.now().plus(retryDelay));
+        }
+    }
+
+    @PreDestroy
+    void disconnect() {
+        this.closed = true;
+        try {
+            if (this.client != null && this.client.isConnected()) {
+                this.client.disconnect();
+            }
+        } catch (MqttException me) {
+            logger.warn("MQTT: Failed to disconnect cache invalidation client (reason: {})", me.getReasonCode());
+        }
+    }
+
+    private void subscribe() {
+        try {
+            this.client.subscribe(topic, 1, (t, message) -> {
+                try {
+                    this.listener.accept(this.objectMapper.readValue(message.getPayload(), CacheInvalidation.class));
+                } catch (Exception e) {
+                    logger.warn("MQTT: Ignoring malformed cache invalidation: {}", e.getMessage());
+                }
+            });
+            logger.info("MQTT: Subscribed to cache invalidations on topic: {}", topic);
+        } catch (MqttException me) {
+            logger.error("MQTT: Failed to subscribe to topic {} (reason: {})", topic, me.getReasonCode());
+        }
+    }
+
+    @Override
+    public void broadcast(CacheInvalidation invalidation) {
+        if (this.client == null || !this.client.isConnected()) {
+            // Other replicas fall back to the cache TTL
+            logger.warn("MQTT: Not connected, cache invalidation for post {} not sent", invalidation.getPostId());
+            return;
+        }
+        try {
+            MqttMessage message = new MqttMessage(this.objectMapper.writeValueAsBytes(invalidation));
+            message.setQos(1);
+            // MqttTopic.publish() returns without waiting for the broker, the caller is a committing request
+            this.client.getTopic(topic).publish(message);
+        } catch (Exception e) {
+            logger.error("MQTT: Failed to send cache invalidation for post {}: {}", invalidation.getPostId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onInvalidation(Consumer<CacheInvalidation> listener) {
+        this.listener = listener;
+    }
+}
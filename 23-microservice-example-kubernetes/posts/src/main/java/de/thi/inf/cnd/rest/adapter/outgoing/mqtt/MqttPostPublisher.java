@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import de.thi.inf.cnd.rest.application.ports.PostPublisher;
 import de.thi.inf.cnd.rest.domain.model.Post;
 import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
 import org.eclipse.paho.client.mqttv3.MqttClient;
 import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
 import org.eclipse.paho.client.mqttv3.MqttException;
@@ -16,6 +17,10 @@ import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
 @Service
 public class MqttPostPublisher implements PostPublisher {
     private static final Logger logger = LoggerFactory.getLogger(MqttPostPublisher.class);
@@ -29,8 +34,18 @@ public class MqttPostPublisher implements PostPublisher {
     @Value("${mqtt.topic}")
     private String topic;
 
+    @Value("${mqtt.max-inflight:10}")
+    private int maxInflight;
+
+    @Value("${mqtt.delivery-timeout-ms:10000}")
+    private long deliveryTimeout;
+
     private MqttClient client;
     private final ObjectMapper objectMapper;
+    // A lock instead of synchronized, so virtual threads waiting for it don't pin their carrier thread (monitors
+    // pin on Java 21). The holder still pins while Paho waits for the QoS 2 handshake, because the token wait is
+    // Object.wait() inside Paho's own monitor; VirtualThreadPinningMonitor reports those waits.
+    private final ReentrantLock publishLock = new ReentrantLock();
 
     public MqttPostPublisher(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -47,6 +62,7 @@ public class MqttPostPublisher implements PostPublisher {
             connOpts.setAutomaticReconnect(true);  // Enable automatic reconnection
             connOpts.setConnectionTimeout(10);      // 10 seconds connection timeout
             connOpts.setKeepAliveInterval(20);      // Keep-alive every 20 seconds
+            connOpts.setMaxInflight(maxInflight);   // Upper bound for unconfirmed messages in deliver()
 
             logger.info("MQTT: Connecting to broker: {}", broker);
             client.connect(connOpts);
@@ -62,17 +78,51 @@ public class MqttPostPublisher implements PostPublisher {
     public void publish(PostInfo post) {
         logger.info("MQTT: Publishing post event for post ID: {}", post.getId());
         // Map domain object to MQTT event DTO
-        PostPublishedEvent event = new PostPublishedEvent(
-                post.getId(),
-                post.getTitle(),
-                post.getContent(),
-                post.getDate(),
-                post.getUserRef()
-        );
+        PostPublishedEvent event = PostPublishedEvent.fromDomain(post);
         this.publishMessage(asJsonString(event), 2);
         logger.debug("MQTT: Post event published successfully");
     }
 
+    @Override
+    public void publishAll(List<PostInfo> posts) {
+        logger.info("MQTT: Publishing one event for {} posts", posts.size());
+        this.publishMessage(asJsonString(PostsPublishedEvent.fromDomain(posts)), 2);
+        logger.debug("MQTT: Post events published successfully");
+    }
+
+    /**
+     * Sends already serialized events in order, with up to {@code concurrency} QoS 2 messages in flight,
+     * and waits for the broker to confirm them.
+     *
+     * @return number of leading payloads whose delivery was confirmed, less than payloads.size() if sending failed
+     */
+    public int deliver(List<String> payloads, int concurrency) {
+        if (client == null || !client.isConnected()) {
+            logger.debug("MQTT: Client not connected, delivery postponed");
+            return 0;
+        }
+        int window = Math.max(1, Math.min(concurrency, maxInflight));
+        int delivered = 0;
+        try {
+            while (delivered < payloads.size()) {
+                List<IMqttDeliveryToken> tokens = new ArrayList<>(window);
+                for (String payload : payloads.subList(delivered, Math.min(delivered + window, payloads.size()))) {
+                    MqttMessage message = new MqttMessage(payload.getBytes());
+                    message.setQos(2);
+                    // MqttTopic.publish() returns without waiting for the broker
+                    tokens.add(client.getTopic(topic).publish(message));
+                }
+                for (IMqttDeliveryToken token : tokens) {
+                    token.waitForCompletion(deliveryTimeout);
+                    delivered++;
+                }
+            }
+        } catch (MqttException me) {
+            logger.error("MQTT: Failed to deliver message to topic {} (reason: {})", topic, me.getReasonCode());
+        }
+        return delivered;
+    }
+
     private String asJsonString(final Object obj) {
         try {
             return objectMapper.writeValueAsString(obj);
@@ -81,8 +131,17 @@ public class MqttPostPublisher implements PostPublisher {
         }
     }
 
-    private synchronized void publishMessage(String content, int qos) {
-        // Check if client is connected (synchronized to prevent race conditions)
+    private void publishMessage(String content, int qos) {
+        publishLock.lock();
+        try {
+            publishMessageLocked(content, qos);
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private void publishMessageLocked(String content, int qos) {
+        // Check if client is connected (locked to prevent race conditions)
         if (client == null || !client.isConnected()) {
             logger.warn("MQTT: Client not connected, attempting to reconnect...");
             try {
@@ -1,5 +1,6 @@
 package de.thi.inf.cnd.rest.adapter.outgoing.mqtt;
 
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,4 +17,8 @@ public class PostPublishedEvent {
     private String content;
     private LocalDateTime date;
     private String userRef;
+
+    public static PostPublishedEvent fromDomain(PostInfo post) {
+        return new PostPublishedEvent(post.getId(), post.getTitle(), post.getContent(), post.getDate(), post.getUserRef());
+    }
 }
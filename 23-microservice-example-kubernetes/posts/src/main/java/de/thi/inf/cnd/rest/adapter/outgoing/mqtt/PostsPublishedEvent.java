@@ -0,0 +1,22 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.mqtt;
+
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Envelope for the events of posts created together (POST /posts/batch), sent as one message: {"posts": [...]}
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostsPublishedEvent {
+    private List<PostPublishedEvent> posts;
+
+    public static PostsPublishedEvent fromDomain(List<PostInfo> posts) {
+        return new PostsPublishedEvent(posts.stream().map(PostPublishedEvent::fromDomain).toList());
+    }
+}
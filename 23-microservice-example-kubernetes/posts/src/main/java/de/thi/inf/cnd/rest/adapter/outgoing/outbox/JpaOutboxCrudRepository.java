@@ -0,0 +1,21 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+
+public interface JpaOutboxCrudRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    // Lock timeout -2 is SKIP LOCKED, so the relays of several replicas pick disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("select e from OutboxEventEntity e order by e.id")
+    List<OutboxEventEntity> lockOldest(Limit limit);
+}
@@ -0,0 +1,62 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.thi.inf.cnd.rest.adapter.outgoing.mqtt.PostPublishedEvent;
+import de.thi.inf.cnd.rest.adapter.outgoing.mqtt.PostsPublishedEvent;
+import de.thi.inf.cnd.rest.application.ports.PostPublisher;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outbox Post Publisher
+ *
+ * Writes post events to the outbox table instead of sending them to the broker. Must be called inside the
+ * transaction that saves the post, so the event is stored if and only if the post is. OutboxRelay delivers
+ * the stored events to MQTT in the background.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "posts.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxPostPublisher implements PostPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxPostPublisher.class);
+
+    private final JpaOutboxCrudRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxPostPublisher(JpaOutboxCrudRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(PostInfo post) {
+        logger.info("OUTBOX: Storing post event for post ID: {}", post.getId());
+        store(PostPublishedEvent.fromDomain(post));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(List<PostInfo> posts) {
+        logger.info("OUTBOX: Storing one event for {} posts", posts.size());
+        store(PostsPublishedEvent.fromDomain(posts));
+    }
+
+    private void store(Object event) {
+        try {
+            this.repository.save(new OutboxEventEntity(null, this.objectMapper.writeValueAsString(event), LocalDateTime.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize post event", e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.outbox;
+
+import de.thi.inf.cnd.rest.adapter.outgoing.mqtt.MqttPostPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Outbox Relay
+ *
+ * Periodically drains the outbox: locks the oldest events, sends them to MQTT with up to {@code concurrency}
+ * messages in flight and deletes the events whose delivery was confirmed by the broker, all in one transaction
+ * per batch. Delivery is at-least-once, an event is sent again if the transaction fails after sending.
+ */
+@Component
+@ConditionalOnProperty(name = "posts.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final JpaOutboxCrudRepository repository;
+    private final MqttPostPublisher mqttPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int concurrency;
+
+    public OutboxRelay(JpaOutboxCrudRepository repository,
+                       MqttPostPublisher mqttPublisher,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${posts.outbox.batch-size:100}") int batchSize,
+                       @Value("${posts.outbox.concurrency:10}") int concurrency) {
+        this.repository = repository;
+        this.mqttPublisher = mqttPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+    }
+
+    @Scheduled(fixedDelayString = "${posts.outbox.poll-interval-ms:500}")
+    public void relay() {
+        int delivered;
+        do {
+            delivered = this.transactionTemplate.execute(status -> relayBatch());
+        } while (delivered == this.batchSize);
+    }
+
+    private int relayBatch() {
+        List<OutboxEventEntity> events = this.repository.lockOldest(Limit.of(this.batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<String> payloads = events.stream().map(OutboxEventEntity::getPayload).toList();
+        int delivered = this.mqttPublisher.deliver(payloads, this.concurrency);
+        if (delivered > 0) {
+            this.repository.deleteAllByIdInBatch(events.subList(0, delivered).stream().map(OutboxEventEntity::getId).toList());
+        }
+        if (delivered == 0) {
+            logger.debug("OUTBOX: Broker not available, {} events pending", events.size());
+        } else if (delivered < events.size()) {
+            logger.warn("OUTBOX: Delivered {} of {} events, retrying the rest later", delivered, events.size());
+        } else {
+            logger.debug("OUTBOX: Delivered {} events", delivered);
+        }
+        return delivered;
+    }
+}
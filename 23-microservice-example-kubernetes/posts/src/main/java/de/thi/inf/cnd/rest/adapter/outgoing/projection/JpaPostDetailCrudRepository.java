@@ -0,0 +1,8 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.projection;
+
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.UUID;
+
+public interface JpaPostDetailCrudRepository extends CrudRepository<PostDetailEntity, UUID> {
+}
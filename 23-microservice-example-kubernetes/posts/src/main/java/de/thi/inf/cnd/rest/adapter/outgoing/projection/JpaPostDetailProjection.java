@@ -0,0 +1,124 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.projection;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.thi.inf.cnd.rest.application.ports.PostDetailProjection;
+import de.thi.inf.cnd.rest.domain.model.Post;
+import de.thi.inf.cnd.rest.domain.model.PostDetailJson;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Post details as JSON documents in the table of PostDetailEntity, one row per post.
+ */
+@Service
+public class JpaPostDetailProjection implements PostDetailProjection {
+    private static final Logger logger = LoggerFactory.getLogger(JpaPostDetailProjection.class);
+
+    // Keeps IN lists at a size every database handles well
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    private final JpaPostDetailCrudRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public JpaPostDetailProjection(JpaPostDetailCrudRepository repository, EntityManager entityManager,
+                                   ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Post get(UUID postId) {
+        logger.debug("REPOSITORY: Fetching detail of post {}", postId);
+        return this.repository.findById(postId).map(this::entityToDomain).orElse(null);
+    }
+
+    @Override
+    public PostDetailJson getJson(UUID postId) {
+        logger.debug("REPOSITORY: Fetching detail document of post {}", postId);
+        return this.repository.findById(postId)
+                .map(entity -> new PostDetailJson(entity.getPostId(), entity.getVersion(), entity.getDocument()))
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional
+    public Post getForUpdate(UUID postId) {
+        logger.debug("REPOSITORY: Locking detail of post {}", postId);
+        PostDetailEntity entity = this.entityManager.find(PostDetailEntity.class, postId, LockModeType.PESSIMISTIC_WRITE);
+        return entity == null ? null : entityToDomain(entity);
+    }
+
+    @Override
+    @Transactional
+    public void save(Post post) {
+        logger.debug("REPOSITORY: Saving detail of post {}", post.getId());
+        // Found in the persistence context if the document was read with getForUpdate()
+        PostDetailEntity entity = this.entityManager.find(PostDetailEntity.class, post.getId());
+        if (entity == null) {
+            this.entityManager.persist(new PostDetailEntity(post.getId(), post.getVersion(), serialize(post)));
+        } else {
+            entity.setVersion(post.getVersion());
+            entity.setDocument(serialize(post));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void saveAll(List<Post> posts) {
+        logger.debug("REPOSITORY: Saving details of {} posts", posts.size());
+        for (int from = 0; from < posts.size(); from += MAX_IDS_PER_QUERY) {
+            List<Post> chunk = posts.subList(from, Math.min(from + MAX_IDS_PER_QUERY, posts.size()));
+            // One query for the existing documents instead of one per post
+            Map<UUID, PostDetailEntity> existing = new HashMap<>(chunk.size() * 2);
+            this.repository.findAllById(chunk.stream().map(Post::getId).toList())
+                    .forEach(entity -> existing.put(entity.getPostId(), entity));
+            for (Post post : chunk) {
+                PostDetailEntity entity = existing.get(post.getId());
+                if (entity == null) {
+                    this.entityManager.persist(new PostDetailEntity(post.getId(), post.getVersion(), serialize(post)));
+                } else {
+                    entity.setVersion(post.getVersion());
+                    entity.setDocument(serialize(post));
+                }
+            }
+            // Send the JDBC batch and keep the persistence context small
+            this.entityManager.flush();
+            this.entityManager.clear();
+        }
+    }
+
+    @Override
+    public void delete(UUID postId) {
+        logger.debug("REPOSITORY: Deleting detail of post {}", postId);
+        this.repository.deleteById(postId);
+    }
+
+    private String serialize(Post post) {
+        try {
+            return this.objectMapper.writeValueAsString(PostDetailDocument.fromDomain(post));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize detail of post " + post.getId(), e);
+        }
+    }
+
+    private Post entityToDomain(PostDetailEntity entity) {
+        try {
+            return this.objectMapper.readValue(entity.getDocument(), PostDetailDocument.class)
+                    .toDomain(entity.getVersion());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read detail of post " + entity.getPostId(), e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.projection;
+
+import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import de.thi.inf.cnd.rest.domain.model.Post;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stored form of a post with its comments. Same fields in the same order as PostDetailResponse, so the stored JSON
+ * is the response body of GET /posts/{id}. The version is a column of the projection table.
+ *
+ * Holds the newest comments of the post only, newest first. {@code commentsNext} is derived from them and
+ * {@code commentCount} when the document is written, and ignored when it is read.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostDetailDocument {
+    private UUID id;
+    private String title;
+    private String content;
+    private LocalDateTime date;
+    private String userRef;
+    private long commentCount;
+    private List<CommentDocument> comments;
+    private String commentsNext;
+
+    /**
+     * Without the author, like CommentResponse.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CommentDocument {
+        private UUID id;
+        private String text;
+        private LocalDateTime date;
+    }
+
+    public static PostDetailDocument fromDomain(Post post) {
+        List<CommentDocument> comments = new ArrayList<>(post.getComments().size());
+        post.getComments().forEach(comment ->
+                comments.add(new CommentDocument(comment.getId(), comment.getText(), comment.getDate())));
+        PageCursor next = post.nextCommentsCursor();
+        return new PostDetailDocument(post.getId(), post.getTitle(), post.getContent(), post.getDate(), post.getUserRef(),
+                post.getCommentCount(), comments, next == null ? null : next.encode());
+    }
+
+    public Post toDomain(long version) {
+        List<Comment> domainComments = new ArrayList<>(this.comments.size());
+        this.comments.forEach(comment ->
+                domainComments.add(new Comment(comment.getId(), comment.getText(), comment.getDate(), null)));
+        Post post = new Post(this.id, this.title, this.content, this.date, this.userRef, domainComments);
+        // Documents written before the comments were limited have no count, but hold all comments
+        post.setCommentCount(Math.max(this.commentCount, this.comments.size()));
+        // The newest comment is always part of the document
+        post.setLastCommentAt(this.comments.stream().map(CommentDocument::getDate).max(Comparator.naturalOrder()).orElse(null));
+        post.setVersion(version);
+        return post;
+    }
+}
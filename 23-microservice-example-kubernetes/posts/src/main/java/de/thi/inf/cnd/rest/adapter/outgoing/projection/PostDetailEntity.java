@@ -0,0 +1,24 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.projection;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class PostDetailEntity {
+    @Id
+    private UUID postId;
+    // Version of the post the document was built from, not a JPA @Version: the services maintain it
+    private long version;
+    // PostDetailDocument as JSON
+    @Lob
+    private String document;
+}
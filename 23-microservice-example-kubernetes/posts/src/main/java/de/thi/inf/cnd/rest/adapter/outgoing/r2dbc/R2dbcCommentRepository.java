@@ -0,0 +1,60 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.r2dbc;
+
+import de.thi.inf.cnd.rest.application.ports.ReactiveCommentRepository;
+import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+@Profile("reactive")
+public class R2dbcCommentRepository implements ReactiveCommentRepository {
+    private static final Logger logger = LoggerFactory.getLogger(R2dbcCommentRepository.class);
+
+    private final DatabaseClient databaseClient;
+    private final UuidColumns uuids;
+
+    public R2dbcCommentRepository(ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.uuids = new UuidColumns(connectionFactory);
+    }
+
+    @Override
+    public Flux<Comment> getComments(UUID postId, int limit, PageCursor after) {
+        logger.debug("REPOSITORY: Fetching {} comments of post {} after {}", limit, postId, after);
+        if (after == null) {
+            return this.databaseClient.sql("select id, text, date, user_ref from comment_entity where post_id = :postId "
+                            + "order by date desc, id desc limit :limit")
+                    .bind("postId", this.uuids.bind(postId))
+                    .bind("limit", limit)
+                    .map(this::rowToDomain)
+                    .all();
+        }
+        // Same range condition as JpaCommentCrudRepository.findNewestBefore
+        return this.databaseClient.sql("select id, text, date, user_ref from comment_entity where post_id = :postId "
+                        + "and (date < :date or (date = :date and id < :id)) order by date desc, id desc limit :limit")
+                .bind("postId", this.uuids.bind(postId))
+                .bind("date", after.getDate())
+                .bind("id", this.uuids.bind(after.getId()))
+                .bind("limit", limit)
+                .map(this::rowToDomain)
+                .all();
+    }
+
+    private Comment rowToDomain(Readable row) {
+        return new Comment(
+                this.uuids.get(row, "id"),
+                row.get("text", String.class),
+                row.get("date", LocalDateTime.class),
+                row.get("user_ref", String.class));
+    }
+}
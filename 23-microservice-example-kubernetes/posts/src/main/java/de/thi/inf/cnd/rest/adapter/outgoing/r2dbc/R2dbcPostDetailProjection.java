@@ -0,0 +1,53 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.r2dbc;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.thi.inf.cnd.rest.adapter.outgoing.projection.PostDetailDocument;
+import de.thi.inf.cnd.rest.application.ports.ReactivePostDetailProjection;
+import de.thi.inf.cnd.rest.domain.model.Post;
+import io.r2dbc.spi.ConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Reads the documents written by JpaPostDetailProjection.
+ */
+@Service
+@Profile("reactive")
+public class R2dbcPostDetailProjection implements ReactivePostDetailProjection {
+    private static final Logger logger = LoggerFactory.getLogger(R2dbcPostDetailProjection.class);
+
+    private final DatabaseClient databaseClient;
+    private final UuidColumns uuids;
+    private final ObjectMapper objectMapper;
+
+    public R2dbcPostDetailProjection(ConnectionFactory connectionFactory, ObjectMapper objectMapper) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.uuids = new UuidColumns(connectionFactory);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Post> get(UUID postId) {
+        logger.debug("REPOSITORY: Fetching detail of post {}", postId);
+        return this.databaseClient.sql("select version, document from post_detail_entity where post_id = :postId")
+                .bind("postId", this.uuids.bind(postId))
+                .map(row -> toDomain(postId, row.get("version", Long.class), row.get("document", String.class)))
+                .one();
+    }
+
+    private Post toDomain(UUID postId, Long version, String document) {
+        try {
+            return this.objectMapper.readValue(document, PostDetailDocument.class)
+                    .toDomain(version == null ? 0 : version);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read detail of post " + postId, e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.r2dbc;
+
+import de.thi.inf.cnd.rest.application.ports.ReactivePostRepository;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Reads the table of PostEntity with plain SQL. The schema is owned by JPA, column names follow its naming strategy.
+ */
+@Service
+@Profile("reactive")
+public class R2dbcPostRepository implements ReactivePostRepository {
+    private static final Logger logger = LoggerFactory.getLogger(R2dbcPostRepository.class);
+
+    private static final String COLUMNS = "id, title, content, date, user_ref, comment_count, last_comment_at, version";
+
+    private final DatabaseClient databaseClient;
+    private final UuidColumns uuids;
+
+    public R2dbcPostRepository(ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.uuids = new UuidColumns(connectionFactory);
+    }
+
+    @Override
+    public Mono<PostInfo> getPost(UUID id) {
+        logger.debug("REPOSITORY: Fetching post {}", id);
+        return this.databaseClient.sql("select " + COLUMNS + " from post_entity where id = :id")
+                .bind("id", this.uuids.bind(id))
+                .map(this::rowToDomain)
+                .one();
+    }
+
+    @Override
+    public Flux<PostInfo> getPosts(int limit, PageCursor after) {
+        logger.debug("REPOSITORY: Fetching {} posts after {}", limit, after);
+        if (after == null) {
+            return this.databaseClient.sql("select " + COLUMNS + " from post_entity order by date desc, id desc limit :limit")
+                    .bind("limit", limit)
+                    .map(this::rowToDomain)
+                    .all();
+        }
+        // Same range condition as JpaPostCrudRepository.findNewestBefore, served by the (date, id) index
+        return this.databaseClient.sql("select " + COLUMNS + " from post_entity "
+                        + "where date < :date or (date = :date and id < :id) order by date desc, id desc limit :limit")
+                .bind("date", after.getDate())
+                .bind("id", this.uuids.bind(after.getId()))
+                .bind("limit", limit)
+                .map(this::rowToDomain)
+                .all();
+    }
+
+    @Override
+    public Flux<PostInfo> getAllPosts() {
+        logger.debug("REPOSITORY: Streaming all posts");
+        return this.databaseClient.sql("select " + COLUMNS + " from post_entity")
+                .map(this::rowToDomain)
+                .all();
+    }
+
+    private PostInfo rowToDomain(Readable row) {
+        Long commentCount = row.get("comment_count", Long.class);
+        Long version = row.get("version", Long.class);
+        return new PostInfo(
+                this.uuids.get(row, "id"),
+                row.get("title", String.class),
+                row.get("content", String.class),
+                row.get("date", LocalDateTime.class),
+                row.get("user_ref", String.class),
+                commentCount == null ? 0 : commentCount,
+                row.get("last_comment_at", LocalDateTime.class),
+                version == null ? 0 : version);
+    }
+}
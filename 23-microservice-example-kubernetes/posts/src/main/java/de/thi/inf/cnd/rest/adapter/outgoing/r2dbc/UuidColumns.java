@@ -0,0 +1,35 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.r2dbc;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * UUID columns as Hibernate creates them: native UUID on H2, BINARY(16) on MySQL, whose R2DBC driver has no UUID
+ * codec.
+ */
+final class UuidColumns {
+    private final boolean binary;
+
+    UuidColumns(ConnectionFactory connectionFactory) {
+        String database = connectionFactory.getMetadata().getName();
+        this.binary = database.contains("MySQL") || database.contains("MariaDB");
+    }
+
+    Object bind(UUID id) {
+        if (!this.binary) {
+            return id;
+        }
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+
+    UUID get(Readable row, String column) {
+        if (!this.binary) {
+            return row.get(column, UUID.class);
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(row.get(column, byte[].class));
+        return new UUID(bytes.getLong(), bytes.getLong());
+    }
+}
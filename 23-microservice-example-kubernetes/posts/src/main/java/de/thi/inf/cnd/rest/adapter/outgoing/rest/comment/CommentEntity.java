@@ -2,6 +2,8 @@ package de.thi.inf.cnd.rest.adapter.outgoing.rest.comment;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,6 +15,9 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+// Comments are read newest first and deleted per post, without the index both scan (and on delete lock) the
+// whole table
+@Table(indexes = @Index(name = "idx_comment_post_date_id", columnList = "postId, date, id"))
 public class CommentEntity {
     @Id
     private UUID id;
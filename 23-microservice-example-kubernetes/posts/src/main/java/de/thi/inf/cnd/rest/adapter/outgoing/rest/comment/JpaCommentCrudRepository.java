@@ -1,10 +1,51 @@
 package de.thi.inf.cnd.rest.adapter.outgoing.rest.comment;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface JpaCommentCrudRepository extends CrudRepository<CommentEntity, UUID> {
-    List<CommentEntity> findByPostId(UUID postId);
+    @Query("select c from CommentEntity c where c.postId = :postId order by c.date desc, c.id desc")
+    List<CommentEntity> findNewest(@Param("postId") UUID postId, Limit limit);
+
+    // Same range condition as JpaPostCrudRepository.findNewestBefore, a range scan of the (post_id, date, id) index
+    @Query("select c from CommentEntity c where c.postId = :postId and (c.date < :date or (c.date = :date and c.id < :id)) "
+            + "order by c.date desc, c.id desc")
+    List<CommentEntity> findNewestBefore(@Param("postId") UUID postId, @Param("date") LocalDateTime date,
+                                         @Param("id") UUID id, Limit limit);
+    long countByPostId(UUID postId);
+
+    @Query("select c.postId as postId, count(c) as count from CommentEntity c where c.postId in :postIds group by c.postId")
+    List<CommentCount> countGroupedByPostId(@Param("postIds") Collection<UUID> postIds);
+
+    @Transactional
+    @Modifying
+    @Query("delete from CommentEntity c where c.postId = :postId")
+    int deleteByPostId(@Param("postId") UUID postId);
+
+    @Query("select c.id from CommentEntity c order by c.id")
+    List<UUID> findIds(Limit limit);
+
+    @Query("select c.id from CommentEntity c where c.id > :id order by c.id")
+    List<UUID> findIdsAfter(@Param("id") UUID id, Limit limit);
+
+    // The primary key range bounds the rows the statement scans and locks
+    @Transactional
+    @Modifying
+    @Query("delete from CommentEntity c where c.id between :from and :to "
+            + "and not exists (select p.id from PostEntity p where p.id = c.postId)")
+    int deleteOrphans(@Param("from") UUID from, @Param("to") UUID to);
+
+    interface CommentCount {
+        UUID getPostId();
+        long getCount();
+    }
 }
@@ -2,12 +2,20 @@ package de.thi.inf.cnd.rest.adapter.outgoing.rest.comment;
 
 import de.thi.inf.cnd.rest.application.ports.CommentRepository;
 import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,10 +23,18 @@ import java.util.UUID;
 public class JpaCommentRepositoryImpl implements CommentRepository {
     private static final Logger logger = LoggerFactory.getLogger(JpaCommentRepositoryImpl.class);
 
+    // Keeps IN lists at a size every database handles well
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
     private final JpaCommentCrudRepository repository;
+    private final EntityManager entityManager;
+    private final int batchSize;
 
-    public JpaCommentRepositoryImpl(JpaCommentCrudRepository repository) {
+    public JpaCommentRepositoryImpl(JpaCommentCrudRepository repository, EntityManager entityManager,
+                                    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
         this.repository = repository;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
     }
 
     @Override
@@ -35,11 +51,34 @@ public class JpaCommentRepositoryImpl implements CommentRepository {
     }
 
     @Override
-    public List<Comment> getCommentsByPostId(UUID postId) {
-        logger.debug("REPOSITORY: Fetching comments for post {}", postId);
-        List<Comment> comments = new ArrayList<>();
-        this.repository.findByPostId(postId).forEach(entity -> comments.add(entityToDomain(entity)));
-        logger.debug("REPOSITORY: Retrieved {} comments for post {}", comments.size(), postId);
+    @Transactional
+    public void saveAll(List<Comment> comments, UUID postId) {
+        logger.info("REPOSITORY: Saving {} comments for post {}", comments.size(), postId);
+        for (int i = 0; i < comments.size(); i++) {
+            Comment comment = comments.get(i);
+            // persist() instead of save(): the IDs are assigned, save() would merge and SELECT every comment first
+            this.entityManager.persist(new CommentEntity(comment.getId(), postId, comment.getText(), comment.getDate(),
+                    comment.getUserRef()));
+            if ((i + 1) % this.batchSize == 0) {
+                // Send the JDBC batch and keep the persistence context small
+                this.entityManager.flush();
+                this.entityManager.clear();
+            }
+        }
+        this.entityManager.flush();
+        this.entityManager.clear();
+        logger.debug("REPOSITORY: {} comments saved to database", comments.size());
+    }
+
+    @Override
+    public List<Comment> getComments(UUID postId, int limit, PageCursor after) {
+        logger.debug("REPOSITORY: Fetching {} comments of post {} after {}", limit, postId, after);
+        List<CommentEntity> entities = after == null
+                ? this.repository.findNewest(postId, Limit.of(limit))
+                : this.repository.findNewestBefore(postId, after.getDate(), after.getId(), Limit.of(limit));
+        List<Comment> comments = new ArrayList<>(entities.size());
+        entities.forEach(entity -> comments.add(entityToDomain(entity)));
+        logger.debug("REPOSITORY: Retrieved {} comments of post {}", comments.size(), postId);
         return comments;
     }
 
@@ -55,6 +94,46 @@ public class JpaCommentRepositoryImpl implements CommentRepository {
         return entity.map(this::entityToDomain).orElse(null);
     }
 
+    @Override
+    public long countByPostId(UUID postId) {
+        logger.debug("REPOSITORY: Counting comments for post {}", postId);
+        return this.repository.countByPostId(postId);
+    }
+
+    @Override
+    public Map<UUID, Long> countByPostIds(Collection<UUID> postIds) {
+        logger.debug("REPOSITORY: Counting comments for {} posts", postIds.size());
+        Map<UUID, Long> counts = new HashMap<>();
+        List<UUID> ids = List.copyOf(postIds);
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            this.repository.countGroupedByPostId(chunk).forEach(row -> counts.put(row.getPostId(), row.getCount()));
+        }
+        return counts;
+    }
+
+    @Override
+    public int deleteByPostId(UUID postId) {
+        logger.info("REPOSITORY: Deleting comments of post {}", postId);
+        int deleted = this.repository.deleteByPostId(postId);
+        logger.debug("REPOSITORY: Deleted {} comments of post {}", deleted, postId);
+        return deleted;
+    }
+
+    @Override
+    public List<UUID> getCommentIds(int limit, UUID after) {
+        logger.debug("REPOSITORY: Fetching {} comment IDs after {}", limit, after);
+        return after == null
+                ? this.repository.findIds(Limit.of(limit))
+                : this.repository.findIdsAfter(after, Limit.of(limit));
+    }
+
+    @Override
+    public int deleteOrphans(UUID from, UUID to) {
+        logger.debug("REPOSITORY: Deleting orphaned comments from {} to {}", from, to);
+        return this.repository.deleteOrphans(from, to);
+    }
+
     private Comment entityToDomain(CommentEntity entity) {
         // Use all-args constructor to set ID (since it has @Setter(AccessLevel.NONE))
         // Constructor order: id, text, date, userRef
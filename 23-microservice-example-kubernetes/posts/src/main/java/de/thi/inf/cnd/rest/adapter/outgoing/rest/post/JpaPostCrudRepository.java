@@ -1,8 +1,77 @@
 package de.thi.inf.cnd.rest.adapter.outgoing.rest.post;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface JpaPostCrudRepository extends CrudRepository<PostEntity, UUID> {
+
+    @Query("select p from PostEntity p order by p.date desc, p.id desc")
+    List<PostEntity> findNewest(Limit limit);
+
+    // Row value comparison (date, id) < (:date, :id) spelled out, so the (date, id) index can be used for the range scan
+    @Query("select p from PostEntity p where p.date < :date or (p.date = :date and p.id < :id) order by p.date desc, p.id desc")
+    List<PostEntity> findNewestBefore(@Param("date") LocalDateTime date, @Param("id") UUID id, Limit limit);
+
+    // Increment in the database, concurrent comments on the same post can't overwrite each other
+    @Transactional
+    @Modifying
+    // Bulk updates bypass @Version, the version is incremented explicitly
+    @Query("update PostEntity p set p.commentCount = p.commentCount + :count, p.version = p.version + 1, "
+            + "p.lastCommentAt = case when p.lastCommentAt is null or p.lastCommentAt < :date then :date else p.lastCommentAt end "
+            + "where p.id = :id")
+    int incrementCommentCount(@Param("id") UUID id, @Param("count") long count, @Param("date") LocalDateTime date);
+
+    // Ownership and version are checked by the statement itself, no read before the write. Bulk updates bypass
+    // @Version, the version is incremented explicitly
+    @Transactional
+    @Modifying
+    @Query("update PostEntity p set p.title = :title, p.content = :content, p.date = :date, p.version = p.version + 1 "
+            + "where p.id = :id and p.userRef = :userRef and (:version is null or p.version = :version)")
+    int updateIfOwner(@Param("id") UUID id, @Param("userRef") String userRef, @Param("version") Long version,
+                      @Param("title") String title, @Param("content") String content, @Param("date") LocalDateTime date);
+
+    @Transactional
+    @Modifying
+    @Query("delete from PostEntity p where p.id = :id and p.userRef = :userRef and (:version is null or p.version = :version)")
+    int deleteIfOwner(@Param("id") UUID id, @Param("userRef") String userRef, @Param("version") Long version);
+
+    @Query("select p from PostEntity p where p.date >= :date order by p.date, p.id")
+    List<PostEntity> findModifiedSince(@Param("date") LocalDateTime date, Limit limit);
+
+    @Query("select p from PostEntity p where p.date > :date or (p.date = :date and p.id > :id) order by p.date, p.id")
+    List<PostEntity> findModifiedAfter(@Param("date") LocalDateTime date, @Param("id") UUID id, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from PostEntity p where p.id in :ids order by p.id")
+    List<PostEntity> lockAllById(@Param("ids") Collection<UUID> ids);
+
+    @Query("select p.id from PostEntity p order by p.id")
+    List<UUID> findIds(Limit limit);
+
+    @Query("select p.id from PostEntity p where p.id > :id order by p.id")
+    List<UUID> findIdsAfter(@Param("id") UUID id, Limit limit);
+
+    // Fetch size lets the driver page through the result set (MySQL needs useCursorFetch=true for this),
+    // read-only skips dirty checking snapshots for the streamed entities
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from PostEntity p")
+    Stream<PostEntity> streamAll();
 }
@@ -1,26 +1,40 @@
 package de.thi.inf.cnd.rest.adapter.outgoing.rest.post;
 
 import de.thi.inf.cnd.rest.application.ports.PostRepository;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
 import de.thi.inf.cnd.rest.domain.model.Post;
 import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class JpaPostRepositoryImpl implements PostRepository {
     private static final Logger logger = LoggerFactory.getLogger(JpaPostRepositoryImpl.class);
 
     private final JpaPostCrudRepository repository;
+    private final EntityManager entityManager;
+    private final int batchSize;
 
-    public JpaPostRepositoryImpl(JpaPostCrudRepository repository) {
+    public JpaPostRepositoryImpl(JpaPostCrudRepository repository, EntityManager entityManager,
+                                 @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
         this.repository = repository;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
     }
 
     @Override
@@ -37,25 +51,41 @@ public class JpaPostRepositoryImpl implements PostRepository {
     }
 
     @Override
-    public void update(PostInfo post) {
-        logger.info("REPOSITORY: Updating post with ID: {}", post.getId());
-        Optional<PostEntity> existingEntity = this.repository.findById(post.getId());
-        if (existingEntity.isPresent()) {
-            PostEntity entity = existingEntity.get();
-            entity.setTitle(post.getTitle());
-            entity.setContent(post.getContent());
-            entity.setDate(post.getDate());
-            entity.setUserRef(post.getUserRef());
-            this.repository.save(entity);
-            logger.debug("REPOSITORY: Post {} updated in database", post.getId());
+    @Transactional
+    public void saveAll(List<PostInfo> posts) {
+        logger.info("REPOSITORY: Saving {} posts", posts.size());
+        for (int i = 0; i < posts.size(); i++) {
+            PostInfo post = posts.get(i);
+            // persist() instead of save(): the IDs are assigned, save() would merge and SELECT every post first
+            this.entityManager.persist(new PostEntity(post.getId(), post.getTitle(), post.getContent(), post.getDate(),
+                    post.getUserRef(), 0, null, 0));
+            if ((i + 1) % this.batchSize == 0) {
+                // Send the JDBC batch and keep the persistence context small
+                this.entityManager.flush();
+                this.entityManager.clear();
+            }
         }
+        this.entityManager.flush();
+        this.entityManager.clear();
+        logger.debug("REPOSITORY: {} posts saved to database", posts.size());
     }
 
     @Override
-    public void delete(UUID id) {
-        logger.info("REPOSITORY: Deleting post with ID: {}", id);
-        this.repository.deleteById(id);
-        logger.debug("REPOSITORY: Post {} deleted from database", id);
+    public boolean updateIfOwner(PostInfo post, Long expectedVersion) {
+        logger.info("REPOSITORY: Updating post with ID: {} (version {})", post.getId(), expectedVersion);
+        // The UPDATE locks the row before anything else the transaction changes (see PostDetailProjector)
+        boolean updated = this.repository.updateIfOwner(post.getId(), post.getUserRef(), expectedVersion,
+                post.getTitle(), post.getContent(), post.getDate()) > 0;
+        logger.debug("REPOSITORY: Post {} {}", post.getId(), updated ? "updated in database" : "not updated");
+        return updated;
+    }
+
+    @Override
+    public boolean deleteIfOwner(UUID id, String userRef, Long expectedVersion) {
+        logger.info("REPOSITORY: Deleting post with ID: {} (version {})", id, expectedVersion);
+        boolean deleted = this.repository.deleteIfOwner(id, userRef, expectedVersion) > 0;
+        logger.debug("REPOSITORY: Post {} {}", id, deleted ? "deleted from database" : "not deleted");
+        return deleted;
     }
 
     @Override
@@ -79,15 +109,90 @@ public class JpaPostRepositoryImpl implements PostRepository {
         return posts;
     }
 
+    @Override
+    public List<PostInfo> getPosts(int limit, PageCursor after) {
+        logger.debug("REPOSITORY: Fetching {} posts after {}", limit, after);
+        List<PostEntity> entities = after == null
+                ? this.repository.findNewest(Limit.of(limit))
+                : this.repository.findNewestBefore(after.getDate(), after.getId(), Limit.of(limit));
+        List<PostInfo> posts = new ArrayList<>(entities.size());
+        entities.forEach(entity -> posts.add(entityToDomain(entity)));
+        logger.debug("REPOSITORY: Retrieved {} posts from database", posts.size());
+        return posts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long forEachPost(Consumer<PostInfo> consumer) {
+        logger.debug("REPOSITORY: Streaming all posts from database");
+        long count = 0;
+        try (Stream<PostEntity> entities = this.repository.streamAll()) {
+            Iterator<PostEntity> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                PostEntity entity = iterator.next();
+                consumer.accept(entityToDomain(entity));
+                // Detach, otherwise the persistence context keeps every streamed entity
+                this.entityManager.detach(entity);
+                count++;
+            }
+        }
+        logger.debug("REPOSITORY: Streamed {} posts from database", count);
+        return count;
+    }
+
+    @Override
+    public List<UUID> getPostIds(int limit, UUID after) {
+        logger.debug("REPOSITORY: Fetching {} post IDs after {}", limit, after);
+        return after == null
+                ? this.repository.findIds(Limit.of(limit))
+                : this.repository.findIdsAfter(after, Limit.of(limit));
+    }
+
+    @Override
+    public List<PostInfo> getPosts(Collection<UUID> ids) {
+        logger.debug("REPOSITORY: Fetching {} posts by ID", ids.size());
+        List<PostInfo> posts = new ArrayList<>(ids.size());
+        this.repository.findAllById(ids).forEach(entity -> posts.add(entityToDomain(entity)));
+        return posts;
+    }
+
+    @Override
+    public List<PostInfo> lockPosts(Collection<UUID> ids) {
+        logger.debug("REPOSITORY: Locking {} posts", ids.size());
+        List<PostInfo> posts = new ArrayList<>(ids.size());
+        this.repository.lockAllById(ids).forEach(entity -> posts.add(entityToDomain(entity)));
+        return posts;
+    }
+
+    @Override
+    public List<PostInfo> getPostsModifiedSince(PageCursor after, int limit) {
+        logger.debug("REPOSITORY: Fetching {} posts modified since {}", limit, after);
+        List<PostEntity> entities = after.getId() == null
+                ? this.repository.findModifiedSince(after.getDate(), Limit.of(limit))
+                : this.repository.findModifiedAfter(after.getDate(), after.getId(), Limit.of(limit));
+        List<PostInfo> posts = new ArrayList<>(entities.size());
+        entities.forEach(entity -> posts.add(entityToDomain(entity)));
+        return posts;
+    }
+
+    @Override
+    public boolean incrementCommentCount(UUID postId, int count, LocalDateTime lastCommentDate) {
+        logger.debug("REPOSITORY: Adding {} to comment count of post {}", count, postId);
+        return this.repository.incrementCommentCount(postId, count, lastCommentDate) > 0;
+    }
+
     private PostInfo entityToDomain(PostEntity entity) {
         // Use all-args constructor to set ID (since it has @Setter(AccessLevel.NONE))
-        // Constructor order: id, title, content, date, userRef, comments
+        // Constructor order: id, title, content, date, userRef, commentCount, lastCommentAt, version
         return new PostInfo(
                 entity.getId(),
                 entity.getTitle(),
                 entity.getContent(),
                 entity.getDate(),
-                entity.getUserRef()
+                entity.getUserRef(),
+                entity.getCommentCount(),
+                entity.getLastCommentAt(),
+                entity.getVersion()
         );
     }
 }
@@ -2,7 +2,12 @@ package de.thi.inf.cnd.rest.adapter.outgoing.rest.post;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -11,6 +16,9 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_post_date_id", columnList = "date, id"))
+// Only changed columns are written, so editing a post never overwrites commentCount with a stale value
+@DynamicUpdate
 public class PostEntity {
     @Id
     private UUID id;
@@ -18,4 +26,12 @@ public class PostEntity {
     private String content;
     private LocalDateTime date;
     private String userRef;
+    // Denormalized from CommentEntity, incremented with a single UPDATE when a comment is added
+    @ColumnDefault("0")
+    private long commentCount;
+    private LocalDateTime lastCommentAt;
+    // Incremented by Hibernate on every update and by incrementCommentCount, used for ETags
+    @Version
+    @ColumnDefault("0")
+    private long version;
 }
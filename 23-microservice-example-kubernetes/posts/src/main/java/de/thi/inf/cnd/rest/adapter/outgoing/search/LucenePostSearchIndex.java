@@ -0,0 +1,191 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.search;
+
+import de.thi.inf.cnd.rest.application.ports.PostSearchIndex;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import de.thi.inf.cnd.rest.domain.model.SearchPage;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Lucene Post Search Index
+ *
+ * In-process Lucene index of post titles and contents, ranked with BM25, matches in the title count twice.
+ * Only the post ID is stored, results are loaded from the repository.
+ *
+ * The index lives in a temporary directory (or {@code posts.search.index-path}) and is memory mapped, so it
+ * does not take heap space. It is rebuilt on every start. Changes become searchable when the searcher is
+ * refreshed every {@code posts.search.refresh-interval-ms}.
+ */
+@Component
+public class LucenePostSearchIndex implements PostSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(LucenePostSearchIndex.class);
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final float TITLE_BOOST = 2.0f;
+    // Longer queries are cut off, every word adds two clauses to the query
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final double RAM_BUFFER_MB = 64;
+
+    private final Path path;
+    private final boolean temporary;
+    private final Directory directory;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public LucenePostSearchIndex(@Value("${posts.search.index-path:}") String indexPath) throws IOException {
+        this.temporary = indexPath.isBlank();
+        this.path = this.temporary ? Files.createTempDirectory("posts-search") : Path.of(indexPath);
+        this.directory = FSDirectory.open(this.path);
+        // Rebuilt from the database on every start, an existing index is discarded
+        this.writer = new IndexWriter(this.directory, new IndexWriterConfig(this.analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+                // Fewer, larger segments from the rebuild, every segment adds work to each search
+                .setRAMBufferSizeMB(RAM_BUFFER_MB));
+        this.searcherManager = new SearcherManager(this.writer, null);
+        logger.info("SEARCH: Index directory {}", this.path);
+    }
+
+    @Override
+    public void index(PostInfo post) {
+        try {
+            this.writer.updateDocument(new Term(ID, post.getId().toString()), toDocument(post));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void indexAll(List<PostInfo> posts) {
+        posts.forEach(this::index);
+    }
+
+    @Override
+    public void remove(UUID postId) {
+        try {
+            this.writer.deleteDocuments(new Term(ID, postId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public SearchPage<UUID> search(String query, int offset, int limit) {
+        BooleanQuery luceneQuery = toQuery(query);
+        if (luceneQuery.clauses().isEmpty()) {
+            return new SearchPage<>(List.of(), false);
+        }
+        try {
+            IndexSearcher searcher = this.searcherManager.acquire();
+            try {
+                // One extra hit to find out whether another page follows
+                TopDocs topDocs = searcher.search(luceneQuery, offset + limit + 1);
+                ScoreDoc[] hits = topDocs.scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<UUID> ids = new ArrayList<>(limit);
+                for (int i = offset; i < Math.min(hits.length, offset + limit); i++) {
+                    ids.add(UUID.fromString(storedFields.document(hits[i].doc, Set.of(ID)).get(ID)));
+                }
+                return new SearchPage<>(ids, hits.length > offset + limit);
+            } finally {
+                this.searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Makes the changes since the last refresh visible to searches.
+     */
+    @Scheduled(fixedDelayString = "${posts.search.refresh-interval-ms:1000}")
+    public void refresh() throws IOException {
+        this.searcherManager.maybeRefresh();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        // Nothing to keep, the index is rebuilt on the next start
+        IOUtils.close(this.searcherManager, this.writer::rollback, this.directory, this.analyzer);
+        if (this.temporary) {
+            IOUtils.rm(this.path);
+        }
+    }
+
+    private static Document toDocument(PostInfo post) {
+        Document document = new Document();
+        document.add(new StringField(ID, post.getId().toString(), Field.Store.YES));
+        if (post.getTitle() != null) {
+            document.add(new TextField(TITLE, post.getTitle(), Field.Store.NO));
+        }
+        if (post.getContent() != null) {
+            document.add(new TextField(CONTENT, post.getContent(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    /**
+     * Matches any of the words of the query in title or content. Query syntax is not interpreted.
+     */
+    private BooleanQuery toQuery(String query) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        for (String term : analyze(query)) {
+            builder.add(new BoostQuery(new TermQuery(new Term(TITLE, term)), TITLE_BOOST), BooleanClause.Occur.SHOULD);
+            builder.add(new TermQuery(new Term(CONTENT, term)), BooleanClause.Occur.SHOULD);
+        }
+        return builder.build();
+    }
+
+    private Set<String> analyze(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream stream = this.analyzer.tokenStream(CONTENT, query)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+}
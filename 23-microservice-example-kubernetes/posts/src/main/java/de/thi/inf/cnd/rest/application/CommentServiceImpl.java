@@ -1,44 +1,124 @@
 package de.thi.inf.cnd.rest.application;
 
 import de.thi.inf.cnd.rest.application.ports.CommentRepository;
+import de.thi.inf.cnd.rest.application.ports.PostRepository;
 import de.thi.inf.cnd.rest.domain.CommentService;
 import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.CursorPage;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 public class CommentServiceImpl implements CommentService {
     private static final Logger logger = LoggerFactory.getLogger(CommentServiceImpl.class);
+    public static final int MAX_PAGE_SIZE = 200;
 
     private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final PostDetailProjector postDetailProjector;
 
-    public CommentServiceImpl(CommentRepository commentRepository) {
+    public CommentServiceImpl(CommentRepository commentRepository, PostRepository postRepository,
+                              PostDetailProjector postDetailProjector) {
         this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.postDetailProjector = postDetailProjector;
     }
 
     @Override
+    @Transactional
     public Comment addComment(UUID postId, String text, String userRef) {
         logger.info("SERVICE: Adding comment to post {} for user '{}'", postId, userRef);
         Comment comment = new Comment();
         comment.setText(text);
-        comment.setDate(LocalDateTime.now());
+        comment.setDate(now());
         comment.setUserRef(userRef);  // Store authenticated user reference
+        // Count and comment are committed together, the update also tells whether the post exists
+        if (!this.postRepository.incrementCommentCount(postId, 1, comment.getDate())) {
+            logger.warn("SERVICE: Post with ID {} not found, comment not added", postId);
+            return null;
+        }
         // The postId is passed to the repository adapter to handle the relationship
         this.commentRepository.save(comment, postId);
+        this.postDetailProjector.commentsAdded(postId, List.of(comment));
         logger.info("SERVICE: Successfully added comment with ID: {}", comment.getId());
         return comment;
     }
 
     @Override
-    public List<Comment> getCommentsByPostId(UUID postId) {
-        logger.info("SERVICE: Getting comments for post {}", postId);
-        List<Comment> comments = this.commentRepository.getCommentsByPostId(postId);
-        logger.info("SERVICE: Found {} comments for post {}", comments.size(), postId);
+    @Transactional
+    public List<Comment> addComments(UUID postId, List<String> texts, String userRef) {
+        logger.info("SERVICE: Adding {} comments to post {} for user '{}'", texts.size(), postId, userRef);
+        LocalDateTime now = now();
+        List<Comment> comments = new ArrayList<>(texts.size());
+        texts.forEach(text -> {
+            Comment comment = new Comment();
+            comment.setText(text);
+            comment.setDate(now);
+            comment.setUserRef(userRef);
+            comments.add(comment);
+        });
+        if (!this.postRepository.incrementCommentCount(postId, comments.size(), now)) {
+            logger.warn("SERVICE: Post with ID {} not found, comments not added", postId);
+            return null;
+        }
+        this.commentRepository.saveAll(comments, postId);
+        this.postDetailProjector.commentsAdded(postId, comments);
+        logger.info("SERVICE: Successfully added {} comments to post {}", comments.size(), postId);
         return comments;
     }
+
+    // On a replica, except first pages: the comment cache loads them from the primary
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Comment> getComments(UUID postId, int limit, PageCursor after) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        logger.info("SERVICE: Getting {} comments for post {} after {}", pageSize, postId, after);
+        // Fetch one extra row to find out whether another page follows
+        List<Comment> comments = this.commentRepository.getComments(postId, pageSize + 1, after);
+        PageCursor next = null;
+        if (comments.size() > pageSize) {
+            comments = comments.subList(0, pageSize);
+            Comment last = comments.get(pageSize - 1);
+            next = new PageCursor(last.getDate(), last.getId());
+        }
+        logger.info("SERVICE: Found {} comments for post {}", comments.size(), postId);
+        return new CursorPage<>(comments, next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countCommentsByPostId(UUID postId) {
+        logger.info("SERVICE: Counting comments for post {}", postId);
+        return this.commentRepository.countByPostId(postId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Long> countCommentsByPostIds(Collection<UUID> postIds) {
+        logger.info("SERVICE: Counting comments for {} posts", postIds.size());
+        Map<UUID, Long> counts = new HashMap<>(this.commentRepository.countByPostIds(postIds));
+        // Posts without comments have no row in the grouped result
+        postIds.forEach(postId -> counts.putIfAbsent(postId, 0L));
+        return counts;
+    }
+
+    /**
+     * The current time at the precision of the date columns. The projection holds the comments as created, a cursor
+     * taken from them must find the same dates in the comments table.
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
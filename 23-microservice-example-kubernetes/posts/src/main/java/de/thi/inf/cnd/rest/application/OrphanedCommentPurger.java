@@ -0,0 +1,72 @@
+package de.thi.inf.cnd.rest.application;
+
+import de.thi.inf.cnd.rest.application.ports.CommentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Orphaned Comment Purger
+ *
+ * Deletes comments whose post no longer exists, left behind by post deletions before comments were deleted with
+ * their post. Walks the comment table in primary key order, {@code batch-size} IDs at a time, and deletes the
+ * orphans of each range with its own short statement and transaction, pausing between batches. No statement scans
+ * or locks more than one batch, so the purge can run next to live traffic. Replicas purge independently, deleting
+ * twice does no harm.
+ */
+@Service
+@ConditionalOnProperty(name = "posts.comments.orphan-purge.enabled", havingValue = "true", matchIfMissing = true)
+public class OrphanedCommentPurger {
+    private static final Logger logger = LoggerFactory.getLogger(OrphanedCommentPurger.class);
+
+    private final CommentRepository commentRepository;
+    private final int batchSize;
+    private final Duration pause;
+
+    public OrphanedCommentPurger(CommentRepository commentRepository,
+                                 @Value("${posts.comments.orphan-purge.batch-size:1000}") int batchSize,
+                                 @Value("${posts.comments.orphan-purge.pause:100ms}") Duration pause) {
+        this.commentRepository = commentRepository;
+        this.batchSize = batchSize;
+        this.pause = pause;
+    }
+
+    @Scheduled(initialDelayString = "${posts.comments.orphan-purge.initial-delay-ms:60000}",
+            fixedDelayString = "${posts.comments.orphan-purge.interval-ms:3600000}")
+    public void purge() {
+        logger.debug("CLEANUP: Purging orphaned comments");
+        long start = System.nanoTime();
+        long scanned = 0;
+        long deleted = 0;
+        UUID after = null;
+        List<UUID> ids;
+        try {
+            while (!(ids = this.commentRepository.getCommentIds(this.batchSize, after)).isEmpty()) {
+                after = ids.get(ids.size() - 1);
+                deleted += this.commentRepository.deleteOrphans(ids.get(0), after);
+                scanned += ids.size();
+                if (ids.size() < this.batchSize) {
+                    break;
+                }
+                Thread.sleep(this.pause);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.info("CLEANUP: Purge of orphaned comments interrupted after {} comments", scanned);
+            return;
+        }
+        if (deleted > 0) {
+            logger.info("CLEANUP: Purged {} orphaned of {} comments in {} ms", deleted, scanned,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } else {
+            logger.debug("CLEANUP: No orphaned comments among {} comments", scanned);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package de.thi.inf.cnd.rest.application;
+
+import de.thi.inf.cnd.rest.application.ports.CommentRepository;
+import de.thi.inf.cnd.rest.application.ports.PostDetailProjection;
+import de.thi.inf.cnd.rest.application.ports.PostRepository;
+import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.Post;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Post Detail Projector
+ *
+ * Keeps the post detail projection in line with the posts and comments tables. The write paths of PostServiceImpl
+ * and CommentServiceImpl call it in their transactions, after the post row was written. The row lock of the post
+ * orders concurrent writers and the rebuild, which locks the posts it reads: whoever comes second sees the changes
+ * of the first. Changes are applied to the locked document, so a missing document stays missing until the next
+ * rebuild, and readers fall back to the source tables meanwhile.
+ *
+ * A document holds only the newest {@code posts.projection.comments} comments of its post, newest first, so its size
+ * doesn't grow with the comments. Older comments are read page by page from the comments table.
+ */
+@Service
+public class PostDetailProjector {
+    private static final Logger logger = LoggerFactory.getLogger(PostDetailProjector.class);
+
+    private final PostDetailProjection projection;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildThreads;
+    private final int rebuildBatchSize;
+    private final int detailComments;
+
+    public PostDetailProjector(PostDetailProjection projection,
+                               PostRepository postRepository,
+                               CommentRepository commentRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${posts.projection.rebuild-threads:4}") int rebuildThreads,
+                               @Value("${posts.projection.rebuild-batch-size:500}") int rebuildBatchSize,
+                               @Value("${posts.projection.comments:20}") int detailComments) {
+        this.projection = projection;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildThreads = rebuildThreads;
+        this.rebuildBatchSize = rebuildBatchSize;
+        this.detailComments = detailComments;
+    }
+
+    public void postsCreated(List<PostInfo> posts) {
+        List<Post> details = new ArrayList<>(posts.size());
+        posts.forEach(post -> details.add(toDetail(post, new ArrayList<>())));
+        this.projection.saveAll(details);
+    }
+
+    /**
+     * @return the updated document, null if the post is not projected
+     */
+    public Post postUpdated(PostInfo post) {
+        Post detail = this.projection.getForUpdate(post.getId());
+        if (detail == null) {
+            return null;
+        }
+        detail.setTitle(post.getTitle());
+        detail.setContent(post.getContent());
+        detail.setDate(post.getDate());
+        // PostRepository.updateIfOwner() increments the version of the post row by one
+        detail.setVersion(detail.getVersion() + 1);
+        this.projection.save(detail);
+        return detail;
+    }
+
+    public void commentsAdded(UUID postId, List<Comment> comments) {
+        Post detail = this.projection.getForUpdate(postId);
+        if (detail == null) {
+            return;
+        }
+        List<Comment> newest = new ArrayList<>(detail.getComments().size() + comments.size());
+        newest.addAll(comments);
+        newest.addAll(detail.getComments());
+        newest.sort(Comment.NEWEST_FIRST);
+        detail.setComments(newest.size() > this.detailComments
+                ? new ArrayList<>(newest.subList(0, this.detailComments)) : newest);
+        detail.setCommentCount(detail.getCommentCount() + comments.size());
+        detail.setLastCommentAt(comments.get(comments.size() - 1).getDate());
+        // Same as PostRepository.incrementCommentCount(): one version per call
+        detail.setVersion(detail.getVersion() + 1);
+        this.projection.save(detail);
+    }
+
+    public void postDeleted(UUID postId) {
+        this.projection.delete(postId);
+    }
+
+    /**
+     * Regenerates the documents of all posts from the posts and comments tables. Batches of posts are rebuilt in
+     * parallel, each in its own transaction, while the service keeps running.
+     *
+     * @return number of documents written
+     */
+    public long rebuild() {
+        logger.info("PROJECTION: Rebuilding post details with {} threads", this.rebuildThreads);
+        long start = System.nanoTime();
+        // Bounded queue: the caller runs a batch itself when all threads are busy instead of reading further ahead
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(this.rebuildThreads, this.rebuildThreads,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(this.rebuildThreads),
+                Thread.ofPlatform().name("post-detail-rebuild-", 0).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        List<Future<Integer>> batches = new ArrayList<>();
+        try {
+            UUID after = null;
+            List<UUID> ids;
+            while (!(ids = this.postRepository.getPostIds(this.rebuildBatchSize, after)).isEmpty()) {
+                List<UUID> batch = ids;
+                batches.add(executor.submit(() -> this.transactionTemplate.execute(status -> rebuildBatch(batch))));
+                after = ids.get(ids.size() - 1);
+            }
+            long count = 0;
+            for (Future<Integer> batch : batches) {
+                count += batch.get();
+            }
+            logger.info("PROJECTION: Rebuilt {} post details in {} ms", count, Duration.ofNanos(System.nanoTime() - start).toMillis());
+            return count;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rebuild of post details interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rebuild of post details failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int rebuildBatch(List<UUID> ids) {
+        // Posts deleted since their IDs were read are skipped
+        List<PostInfo> posts = this.postRepository.lockPosts(ids);
+        List<Post> details = new ArrayList<>(posts.size());
+        // One indexed query per post, reads no more than the newest comments even for posts with many comments
+        posts.forEach(post -> details.add(toDetail(post,
+                this.commentRepository.getComments(post.getId(), this.detailComments, null))));
+        this.projection.saveAll(details);
+        logger.debug("PROJECTION: Rebuilt {} post details", details.size());
+        return details.size();
+    }
+
+    private static Post toDetail(PostInfo post, List<Comment> comments) {
+        Post detail = new Post(post.getId(), post.getTitle(), post.getContent(), post.getDate(), post.getUserRef(), comments);
+        detail.setCommentCount(post.getCommentCount());
+        detail.setLastCommentAt(post.getLastCommentAt());
+        detail.setVersion(post.getVersion());
+        return detail;
+    }
+}
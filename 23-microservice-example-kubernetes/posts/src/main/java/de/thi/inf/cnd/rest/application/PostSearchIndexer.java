@@ -0,0 +1,97 @@
+package de.thi.inf.cnd.rest.application;
+
+import de.thi.inf.cnd.rest.application.ports.PostRepository;
+import de.thi.inf.cnd.rest.application.ports.PostSearchIndex;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Post Search Indexer
+ *
+ * Fills the search index with all posts after startup, in the background, so the service is ready before the
+ * index is complete. Posts created, updated or deleted by this instance are indexed by {@link PostServiceImpl}.
+ * Posts created or updated by other replicas are picked up by a periodic catch-up over the posts modified since
+ * the last run. The catch-up looks back {@code posts.search.catch-up-overlap} to cover transactions that committed
+ * late and clocks that differ between replicas. Posts deleted elsewhere are removed when a search finds them.
+ */
+@Service
+public class PostSearchIndexer {
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchIndexer.class);
+
+    private final PostRepository postRepository;
+    private final PostSearchIndex postSearchIndex;
+    private final int batchSize;
+    private final Duration overlap;
+    // Set when the initial build is done, the catch-up starts from there
+    private volatile LocalDateTime indexedUntil;
+
+    public PostSearchIndexer(PostRepository postRepository,
+                             PostSearchIndex postSearchIndex,
+                             @Value("${posts.search.catch-up-batch-size:500}") int batchSize,
+                             @Value("${posts.search.catch-up-overlap:5s}") Duration overlap) {
+        this.postRepository = postRepository;
+        this.postSearchIndex = postSearchIndex;
+        this.batchSize = batchSize;
+        this.overlap = overlap;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRebuild() {
+        Thread.ofPlatform().name("search-index-rebuild").daemon().start(this::rebuild);
+    }
+
+    void rebuild() {
+        logger.info("SEARCH: Building search index");
+        long start = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            long count = this.postRepository.forEachPost(this.postSearchIndex::index);
+            this.indexedUntil = startedAt;
+            logger.info("SEARCH: Indexed {} posts in {} ms", count, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (RuntimeException e) {
+            logger.error("SEARCH: Building search index failed", e);
+        }
+    }
+
+    /**
+     * Indexes the posts created or updated since the last run.
+     */
+    @Scheduled(fixedDelayString = "${posts.search.catch-up-interval-ms:5000}")
+    public void catchUp() {
+        LocalDateTime since = this.indexedUntil;
+        if (since == null) {
+            // Initial build not done yet
+            return;
+        }
+        PageCursor cursor = new PageCursor(since.minus(this.overlap), null);
+        LocalDateTime newest = since;
+        int count = 0;
+        List<PostInfo> posts;
+        do {
+            posts = this.postRepository.getPostsModifiedSince(cursor, this.batchSize);
+            if (posts.isEmpty()) {
+                break;
+            }
+            this.postSearchIndex.indexAll(posts);
+            PostInfo last = posts.get(posts.size() - 1);
+            cursor = new PageCursor(last.getDate(), last.getId());
+            if (last.getDate().isAfter(newest)) {
+                newest = last.getDate();
+            }
+            count += posts.size();
+        } while (posts.size() == this.batchSize);
+        this.indexedUntil = newest;
+        logger.debug("SEARCH: Caught up with {} modified posts", count);
+    }
+}
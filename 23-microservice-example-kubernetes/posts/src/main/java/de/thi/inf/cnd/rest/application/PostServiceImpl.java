@@ -1,35 +1,62 @@
 package de.thi.inf.cnd.rest.application;
 
 import de.thi.inf.cnd.rest.application.ports.CommentRepository;
+import de.thi.inf.cnd.rest.application.ports.PostDetailProjection;
 import de.thi.inf.cnd.rest.application.ports.PostPublisher;
 import de.thi.inf.cnd.rest.application.ports.PostRepository;
+import de.thi.inf.cnd.rest.application.ports.PostSearchIndex;
 import de.thi.inf.cnd.rest.domain.PostService;
+import de.thi.inf.cnd.rest.domain.VersionConflictException;
 import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.CursorPage;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
 import de.thi.inf.cnd.rest.domain.model.Post;
+import de.thi.inf.cnd.rest.domain.model.PostDetailJson;
 import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import de.thi.inf.cnd.rest.domain.model.SearchPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class PostServiceImpl implements PostService {
     private static final Logger logger = LoggerFactory.getLogger(PostServiceImpl.class);
+    static final int MAX_PAGE_SIZE = 200;
 
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
     private final PostPublisher postPublisher;
+    private final PostSearchIndex postSearchIndex;
+    private final PostDetailProjection postDetailProjection;
+    private final PostDetailProjector postDetailProjector;
+    private final int detailComments;
 
-    public PostServiceImpl(PostRepository postRepository, PostPublisher postPublisher,  CommentRepository commentRepository) {
+    public PostServiceImpl(PostRepository postRepository, PostPublisher postPublisher,  CommentRepository commentRepository,
+                           PostSearchIndex postSearchIndex, PostDetailProjection postDetailProjection,
+                           PostDetailProjector postDetailProjector,
+                           @Value("${posts.projection.comments:20}") int detailComments) {
         this.postRepository = postRepository;
         this.postPublisher = postPublisher;
         this.commentRepository = commentRepository;
+        this.postSearchIndex = postSearchIndex;
+        this.postDetailProjection = postDetailProjection;
+        this.postDetailProjector = postDetailProjector;
+        this.detailComments = detailComments;
     }
 
     @Override
+    @Transactional
     public PostInfo createPost(String title, String content, String userRef) {
         logger.info("SERVICE: Creating post with title '{}' for user '{}'", title, userRef);
         PostInfo post = new PostInfo();
@@ -39,13 +66,36 @@ public class PostServiceImpl implements PostService {
         post.setUserRef(userRef);  // Store authenticated user reference
 
         this.postRepository.save(post);
+        this.postDetailProjector.postsCreated(List.of(post));
         this.postPublisher.publish(post);
+        this.postSearchIndex.index(post);
 
         logger.info("SERVICE: Successfully created post with ID: {}", post.getId());
         return post;
     }
 
     @Override
+    @Transactional
+    public List<PostInfo> createPosts(List<PostInfo> posts, String userRef) {
+        logger.info("SERVICE: Creating {} posts for user '{}'", posts.size(), userRef);
+        LocalDateTime now = LocalDateTime.now();
+        posts.forEach(post -> {
+            post.setDate(now);
+            post.setUserRef(userRef);
+        });
+
+        this.postRepository.saveAll(posts);
+        this.postDetailProjector.postsCreated(posts);
+        this.postPublisher.publishAll(posts);
+        this.postSearchIndex.indexAll(posts);
+
+        logger.info("SERVICE: Successfully created {} posts", posts.size());
+        return posts;
+    }
+
+    // Read-only transactions run on a read replica when posts.datasource.replicas is enabled
+    @Override
+    @Transactional(readOnly = true)
     public Iterable<PostInfo> findAllPosts() {
         logger.info("SERVICE: Finding all posts");
         Iterable<PostInfo> posts = this.postRepository.getPosts();
@@ -53,15 +103,90 @@ public class PostServiceImpl implements PostService {
         return posts;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PostInfo> findPosts(int limit, PageCursor after) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        logger.info("SERVICE: Finding {} posts after {}", pageSize, after);
+        // Fetch one extra row to find out whether another page follows
+        List<PostInfo> posts = this.postRepository.getPosts(pageSize + 1, after);
+        PageCursor next = null;
+        if (posts.size() > pageSize) {
+            posts = posts.subList(0, pageSize);
+            PostInfo last = posts.get(pageSize - 1);
+            next = new PageCursor(last.getDate(), last.getId());
+        }
+        logger.debug("SERVICE: Retrieved {} posts from repository", posts.size());
+        return new CursorPage<>(posts, next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPosts(Consumer<PostInfo> consumer) {
+        logger.info("SERVICE: Exporting all posts");
+        long count = this.postRepository.forEachPost(consumer);
+        logger.info("SERVICE: Exported {} posts", count);
+        return count;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchPage<PostInfo> searchPosts(String query, int offset, int limit) {
+        logger.info("SERVICE: Searching posts for '{}', offset {}, limit {}", query, offset, limit);
+        SearchPage<UUID> hits = this.postSearchIndex.search(query, offset, limit);
+        Map<UUID, PostInfo> postsById = this.postRepository.getPosts(hits.getItems()).stream()
+                .collect(Collectors.toMap(PostInfo::getId, Function.identity()));
+        List<PostInfo> posts = new ArrayList<>(postsById.size());
+        for (UUID id : hits.getItems()) {
+            PostInfo post = postsById.get(id);
+            if (post != null) {
+                posts.add(post);
+            } else {
+                // Deleted by another instance, its index doesn't know yet
+                logger.debug("SERVICE: Removing deleted post {} from the search index", id);
+                this.postSearchIndex.remove(id);
+            }
+        }
+        logger.debug("SERVICE: Found {} posts", posts.size());
+        return new SearchPage<>(posts, hits.hasNext());
+    }
+
+    @Override
+    public long rebuildPostDetails() {
+        logger.info("SERVICE: Rebuilding post detail projection");
+        return this.postDetailProjector.rebuild();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findPostIds(int limit, UUID after) {
+        logger.debug("SERVICE: Finding {} post IDs after {}", limit, after);
+        return this.postRepository.getPostIds(limit, after);
+    }
+
+    @Override
+    public PostInfo getPostInfo(UUID id) {
+        logger.debug("SERVICE: Getting post info with ID: {}", id);
+        return this.postRepository.getPost(id);
+    }
+
+    // No read-only transaction of its own: the projection lookup takes one (on a replica), the fallback's cached reads
+    // are loaded from the primary
     @Override
     public Post getPost(UUID id) {
         logger.info("SERVICE: Getting post with ID: {}", id);
+        Post detail = this.postDetailProjection.get(id);
+        if (detail != null) {
+            logger.info("SERVICE: Retrieved post {} with {} comments from projection", id, detail.getComments().size());
+            return detail;
+        }
+        // Not projected yet (created before the projection existed), assemble it from the source tables
         PostInfo info = this.postRepository.getPost(id);
         if(info == null) {
             logger.warn("SERVICE: Post with ID {} not found", id);
             return null;
         }
-        List<Comment> comments = this.commentRepository.getCommentsByPostId(id);
+        List<Comment> comments = this.commentRepository.getComments(id, this.detailComments, null);
         Post post = new Post(
             info.getId(),
             info.getTitle(),
@@ -70,50 +195,72 @@ public class PostServiceImpl implements PostService {
             info.getUserRef(),
             comments
         );
+        post.setCommentCount(info.getCommentCount());
+        post.setLastCommentAt(info.getLastCommentAt());
+        post.setVersion(info.getVersion());
         logger.info("SERVICE: Retrieved post {} with {} comments", id, comments.size());
         return post;
     }
 
     @Override
-    public PostInfo removePost(UUID id, String userRef) {
+    public PostDetailJson getPostJson(UUID id) {
+        logger.info("SERVICE: Getting document of post with ID: {}", id);
+        return this.postDetailProjection.getJson(id);
+    }
+
+    @Override
+    @Transactional
+    public boolean removePost(UUID id, String userRef, Long expectedVersion) {
         logger.info("SERVICE: Removing post with ID: {} by user: {}", id, userRef);
-        PostInfo post = this.postRepository.getPost(id);
-        if (post == null) {
+        if (!this.postRepository.deleteIfOwner(id, userRef, expectedVersion)) {
+            checkWriteFailure(id, userRef, expectedVersion, "delete");
             logger.warn("SERVICE: Post with ID {} not found for removal", id);
-            return null;
-        }
-
-        // Business logic: Check if user owns the post
-        if (!post.getUserRef().equals(userRef)) {
-            logger.warn("SERVICE: User {} attempted to delete post {} owned by {}", userRef, id, post.getUserRef());
-            throw new SecurityException("You can only delete your own posts");
+            return false;
         }
 
-        this.postRepository.delete(id);
-        logger.info("SERVICE: Successfully removed post {}", id);
-        return post;
+        // Same transaction: the comments can't outlive the post
+        int comments = this.commentRepository.deleteByPostId(id);
+        this.postDetailProjector.postDeleted(id);
+        this.postSearchIndex.remove(id);
+        logger.info("SERVICE: Successfully removed post {} with {} comments", id, comments);
+        return true;
     }
 
     @Override
-    public PostInfo updatePost(UUID id, String title, String content, String userRef) {
+    @Transactional
+    public PostInfo updatePost(UUID id, String title, String content, String userRef, Long expectedVersion) {
         logger.info("SERVICE: Updating post with ID: {} by user: {}", id, userRef);
-        PostInfo post = this.postRepository.getPost(id);
-        if (post == null) {
+        PostInfo post = new PostInfo(id, title, content, LocalDateTime.now(), userRef);
+        if (!this.postRepository.updateIfOwner(post, expectedVersion)) {
+            checkWriteFailure(id, userRef, expectedVersion, "update");
             logger.warn("SERVICE: Post with ID {} not found for update", id);
             return null;
         }
 
-        // Business logic: Check if user owns the post
-        if (!post.getUserRef().equals(userRef)) {
-            logger.warn("SERVICE: User {} attempted to update post {} owned by {}", userRef, id, post.getUserRef());
-            throw new SecurityException("You can only update your own posts");
-        }
-
-        post.setTitle(title);
-        post.setContent(content);
-        post.setDate(LocalDateTime.now());
-        this.postRepository.update(post);
+        Post detail = this.postDetailProjector.postUpdated(post);
+        // The projection has the comment count and version for the response, posts that aren't projected are read
+        // (the post cache hands this transaction its own update, not the cached copy)
+        PostInfo updated = detail != null ? detail : this.postRepository.getPost(id);
+        this.postSearchIndex.index(updated);
         logger.info("SERVICE: Successfully updated post {}", id);
-        return post;
+        return updated;
+    }
+
+    /**
+     * Finds out why a conditional write matched no row. Only runs on the failure path, successful writes take a
+     * single statement.
+     */
+    private void checkWriteFailure(UUID id, String userRef, Long expectedVersion, String action) {
+        PostInfo current = this.postRepository.getPost(id);
+        if (current == null) {
+            return;
+        }
+        if (!current.getUserRef().equals(userRef)) {
+            logger.warn("SERVICE: User {} attempted to {} post {} owned by {}", userRef, action, id, current.getUserRef());
+            throw new SecurityException("You can only " + action + " your own posts");
+        }
+        logger.warn("SERVICE: Post {} has version {}, expected {}", id, current.getVersion(), expectedVersion);
+        throw new VersionConflictException("Post was modified, current version is " + current.getVersion(),
+                current.getVersion());
     }
 }
@@ -0,0 +1,66 @@
+package de.thi.inf.cnd.rest.application;
+
+import de.thi.inf.cnd.rest.application.ports.ReactiveCommentRepository;
+import de.thi.inf.cnd.rest.domain.CommentService;
+import de.thi.inf.cnd.rest.domain.ReactiveCommentService;
+import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.CursorPage;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Like {@link ReactivePostServiceImpl}: comments are read without blocking, added through {@link CommentService}
+ * on the blocking scheduler.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveCommentServiceImpl implements ReactiveCommentService {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveCommentServiceImpl.class);
+
+    private final ReactiveCommentRepository commentRepository;
+    private final CommentService commentService;
+    private final Scheduler blockingScheduler;
+
+    public ReactiveCommentServiceImpl(ReactiveCommentRepository commentRepository, CommentService commentService,
+                                      Scheduler blockingScheduler) {
+        this.commentRepository = commentRepository;
+        this.commentService = commentService;
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    @Override
+    public Mono<Comment> addComment(UUID postId, String text, String userRef) {
+        return Mono.fromCallable(() -> this.commentService.addComment(postId, text, userRef))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Mono<List<Comment>> addComments(UUID postId, List<String> texts, String userRef) {
+        return Mono.fromCallable(() -> this.commentService.addComments(postId, texts, userRef))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Mono<CursorPage<Comment>> getComments(UUID postId, int limit, PageCursor after) {
+        int pageSize = Math.max(1, Math.min(limit, CommentServiceImpl.MAX_PAGE_SIZE));
+        logger.info("SERVICE: Getting {} comments for post {} after {}", pageSize, postId, after);
+        // Fetch one extra row to find out whether another page follows
+        return this.commentRepository.getComments(postId, pageSize + 1, after).collectList().map(comments -> {
+            PageCursor next = null;
+            if (comments.size() > pageSize) {
+                comments = comments.subList(0, pageSize);
+                Comment last = comments.get(pageSize - 1);
+                next = new PageCursor(last.getDate(), last.getId());
+            }
+            return new CursorPage<>(comments, next);
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package de.thi.inf.cnd.rest.application;
+
+import de.thi.inf.cnd.rest.application.ports.ReactiveCommentRepository;
+import de.thi.inf.cnd.rest.application.ports.ReactivePostDetailProjection;
+import de.thi.inf.cnd.rest.application.ports.ReactivePostRepository;
+import de.thi.inf.cnd.rest.domain.PostService;
+import de.thi.inf.cnd.rest.domain.ReactivePostService;
+import de.thi.inf.cnd.rest.domain.model.CursorPage;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import de.thi.inf.cnd.rest.domain.model.Post;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import de.thi.inf.cnd.rest.domain.model.SearchPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads run on the reactive ports without blocking a thread. Writes and searches are delegated to
+ * {@link PostService} on the blocking scheduler: a new post is stored together with its outbox event, projection
+ * document and search index entry, which needs the JPA transaction of PostServiceImpl.
+ */
+@Service
+@Profile("reactive")
+public class ReactivePostServiceImpl implements ReactivePostService {
+    private static final Logger logger = LoggerFactory.getLogger(ReactivePostServiceImpl.class);
+
+    private final ReactivePostRepository postRepository;
+    private final ReactiveCommentRepository commentRepository;
+    private final ReactivePostDetailProjection postDetailProjection;
+    private final PostService postService;
+    private final Scheduler blockingScheduler;
+    private final int detailComments;
+
+    public ReactivePostServiceImpl(ReactivePostRepository postRepository,
+                                   ReactiveCommentRepository commentRepository,
+                                   ReactivePostDetailProjection postDetailProjection,
+                                   PostService postService,
+                                   Scheduler blockingScheduler,
+                                   @Value("${posts.projection.comments:20}") int detailComments) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.postDetailProjection = postDetailProjection;
+        this.postService = postService;
+        this.blockingScheduler = blockingScheduler;
+        this.detailComments = detailComments;
+    }
+
+    @Override
+    public Mono<PostInfo> createPost(String title, String content, String userRef) {
+        return Mono.fromCallable(() -> this.postService.createPost(title, content, userRef))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Mono<List<PostInfo>> createPosts(List<PostInfo> posts, String userRef) {
+        return Mono.fromCallable(() -> this.postService.createPosts(posts, userRef))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Mono<CursorPage<PostInfo>> findPosts(int limit, PageCursor after) {
+        int pageSize = Math.max(1, Math.min(limit, PostServiceImpl.MAX_PAGE_SIZE));
+        logger.info("SERVICE: Finding {} posts after {}", pageSize, after);
+        // Fetch one extra row to find out whether another page follows
+        return this.postRepository.getPosts(pageSize + 1, after)
+                .collectList()
+                .map(posts -> {
+                    PageCursor next = null;
+                    if (posts.size() > pageSize) {
+                        posts = posts.subList(0, pageSize);
+                        PostInfo last = posts.get(pageSize - 1);
+                        next = new PageCursor(last.getDate(), last.getId());
+                    }
+                    logger.debug("SERVICE: Retrieved {} posts from repository", posts.size());
+                    return new CursorPage<>(posts, next);
+                });
+    }
+
+    @Override
+    public Flux<PostInfo> exportPosts() {
+        logger.info("SERVICE: Exporting all posts");
+        return this.postRepository.getAllPosts();
+    }
+
+    @Override
+    public Mono<SearchPage<PostInfo>> searchPosts(String query, int offset, int limit) {
+        // Lucene reads its index files with blocking I/O
+        return Mono.fromCallable(() -> this.postService.searchPosts(query, offset, limit))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Mono<Post> getPost(UUID id) {
+        logger.info("SERVICE: Getting post with ID: {}", id);
+        return this.postDetailProjection.get(id)
+                .doOnNext(detail -> logger.info("SERVICE: Retrieved post {} with {} comments from projection",
+                        id, detail.getComments().size()))
+                // Not projected yet (created before the projection existed), assemble it from the source tables
+                .switchIfEmpty(Mono.defer(() -> this.postRepository.getPost(id)
+                        .flatMap(info -> this.commentRepository.getComments(id, this.detailComments, null).collectList()
+                                .map(comments -> {
+                                    Post post = new Post(info.getId(), info.getTitle(), info.getContent(),
+                                            info.getDate(), info.getUserRef(), comments);
+                                    post.setCommentCount(info.getCommentCount());
+                                    post.setLastCommentAt(info.getLastCommentAt());
+                                    post.setVersion(info.getVersion());
+                                    logger.info("SERVICE: Retrieved post {} with {} comments", id, comments.size());
+                                    return post;
+                                }))
+                        .switchIfEmpty(Mono.fromRunnable(() -> logger.warn("SERVICE: Post with ID {} not found", id)))));
+    }
+
+    @Override
+    public Mono<PostInfo> getPostInfo(UUID id) {
+        logger.debug("SERVICE: Getting post info with ID: {}", id);
+        return this.postRepository.getPost(id);
+    }
+
+    @Override
+    public Mono<Boolean> removePost(UUID id, String userRef, Long expectedVersion) {
+        return Mono.fromCallable(() -> this.postService.removePost(id, userRef, expectedVersion))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Mono<PostInfo> updatePost(UUID id, String title, String content, String userRef, Long expectedVersion) {
+        return Mono.fromCallable(() -> this.postService.updatePost(id, title, content, userRef, expectedVersion))
+                .subscribeOn(this.blockingScheduler);
+    }
+}
@@ -1,12 +1,55 @@
 package de.thi.inf.cnd.rest.application.ports;
 
 import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface CommentRepository {
     void save(Comment comment, UUID postId);
-    List<Comment> getCommentsByPostId(UUID postId);
+
+    /**
+     * Inserts new comments of one post with batched statements.
+     */
+    void saveAll(List<Comment> comments, UUID postId);
+
+    /**
+     * Comments of a post, newest first, ordered by (date, id) descending.
+     *
+     * @param limit maximum number of comments to return
+     * @param after cursor of the last comment of the previous page, null for the first page
+     */
+    List<Comment> getComments(UUID postId, int limit, PageCursor after);
     Comment getComment(UUID id);
+    long countByPostId(UUID postId);
+
+    /**
+     * @return comment count per post ID, posts without comments are not contained
+     */
+    Map<UUID, Long> countByPostIds(Collection<UUID> postIds);
+
+    /**
+     * Deletes all comments of a post with a single statement.
+     *
+     * @return number of deleted comments
+     */
+    int deleteByPostId(UUID postId);
+
+    /**
+     * Comment IDs in ascending order.
+     *
+     * @param limit maximum number of IDs to return
+     * @param after last ID of the previous page, null for the first page
+     */
+    List<UUID> getCommentIds(int limit, UUID after);
+
+    /**
+     * Deletes the comments with IDs from {@code from} to {@code to} (inclusive) whose post doesn't exist.
+     *
+     * @return number of deleted comments
+     */
+    int deleteOrphans(UUID from, UUID to);
 }
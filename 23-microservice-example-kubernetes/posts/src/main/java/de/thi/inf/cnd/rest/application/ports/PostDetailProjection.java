@@ -0,0 +1,39 @@
+package de.thi.inf.cnd.rest.application.ports;
+
+import de.thi.inf.cnd.rest.domain.model.Post;
+import de.thi.inf.cnd.rest.domain.model.PostDetailJson;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read model with the detail of each post, its fields and the newest {@code posts.projection.comments} comments,
+ * newest first, stored as one JSON document per post in the layout of the response of GET /posts/{id}. The version
+ * of a document is the version of the post it was built from.
+ */
+public interface PostDetailProjection {
+    /**
+     * The post with its newest comments, read with a single lookup and parsed from the stored document. Null if the post has
+     * no document (yet).
+     */
+    Post get(UUID postId);
+
+    /**
+     * The stored document as it is, read with a single lookup and not parsed. Null if the post has no document (yet).
+     */
+    PostDetailJson getJson(UUID postId);
+
+    /**
+     * Like {@link #get(UUID)}, but locks the document until the end of the transaction.
+     */
+    Post getForUpdate(UUID postId);
+
+    /**
+     * Inserts or replaces the document of the post.
+     */
+    void save(Post post);
+
+    void saveAll(List<Post> posts);
+
+    void delete(UUID postId);
+}
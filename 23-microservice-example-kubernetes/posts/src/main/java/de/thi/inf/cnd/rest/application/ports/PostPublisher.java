@@ -3,6 +3,13 @@ package de.thi.inf.cnd.rest.application.ports;
 import de.thi.inf.cnd.rest.domain.model.Post;
 import de.thi.inf.cnd.rest.domain.model.PostInfo;
 
+import java.util.List;
+
 public interface PostPublisher {
     void publish(PostInfo post);
+
+    /**
+     * Publishes the events of all posts as a single message.
+     */
+    void publishAll(List<PostInfo> posts);
 }
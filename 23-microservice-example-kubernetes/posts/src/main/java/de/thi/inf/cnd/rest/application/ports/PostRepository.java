@@ -1,14 +1,87 @@
 package de.thi.inf.cnd.rest.application.ports;
 
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
 import de.thi.inf.cnd.rest.domain.model.Post;
 import de.thi.inf.cnd.rest.domain.model.PostInfo;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface PostRepository {
     void save(PostInfo post);
-    void update(PostInfo post);
-    void delete(UUID id);
+
+    /**
+     * Inserts new posts with batched statements.
+     */
+    void saveAll(List<PostInfo> posts);
+
+    /**
+     * Writes title, content and date of a post and increments its version with a single UPDATE, provided the post
+     * belongs to {@code post.getUserRef()} and, unless {@code expectedVersion} is null, has that version.
+     *
+     * @return false if no row matched: the post does not exist, belongs to another user or has another version
+     */
+    boolean updateIfOwner(PostInfo post, Long expectedVersion);
+
+    /**
+     * Deletes a post with a single DELETE under the same conditions as {@link #updateIfOwner(PostInfo, Long)}.
+     *
+     * @return false if no row matched
+     */
+    boolean deleteIfOwner(UUID id, String userRef, Long expectedVersion);
     PostInfo getPost(UUID id);
     Iterable<PostInfo> getPosts();
+
+    /**
+     * Newest posts first, ordered by (date, id) descending.
+     *
+     * @param limit maximum number of posts to return
+     * @param after cursor of the last post of the previous page, null for the first page
+     */
+    List<PostInfo> getPosts(int limit, PageCursor after);
+
+    /**
+     * Streams all posts one by one to {@code consumer} without loading the whole table into memory.
+     *
+     * @return number of posts passed to the consumer
+     */
+    long forEachPost(Consumer<PostInfo> consumer);
+
+    /**
+     * Post IDs in ascending order.
+     *
+     * @param limit maximum number of IDs to return
+     * @param after last ID of the previous page, null for the first page
+     */
+    List<UUID> getPostIds(int limit, UUID after);
+
+    /**
+     * Posts with the given IDs, in no particular order. IDs of posts that don't exist are skipped.
+     */
+    List<PostInfo> getPosts(Collection<UUID> ids);
+
+    /**
+     * Like {@link #getPosts(Collection)}, but locks the posts until the end of the transaction, so they cannot be
+     * updated, commented or deleted in the meantime.
+     */
+    List<PostInfo> lockPosts(Collection<UUID> ids);
+
+    /**
+     * Posts created or updated since a point in time, ordered by (date, id) ascending.
+     *
+     * @param after cursor of the last post of the previous page; for the first page a cursor with the start date
+     *              and a null ID, which includes posts of exactly that date
+     */
+    List<PostInfo> getPostsModifiedSince(PageCursor after, int limit);
+
+    /**
+     * Atomically adds {@code count} to the comment count of a post and moves its last comment date forward to
+     * {@code lastCommentDate}.
+     *
+     * @return false if the post does not exist
+     */
+    boolean incrementCommentCount(UUID postId, int count, LocalDateTime lastCommentDate);
 }
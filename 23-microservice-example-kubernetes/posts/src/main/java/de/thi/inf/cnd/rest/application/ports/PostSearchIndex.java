@@ -0,0 +1,26 @@
+package de.thi.inf.cnd.rest.application.ports;
+
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import de.thi.inf.cnd.rest.domain.model.SearchPage;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full-text index of post titles and contents. Changes become visible to searches after a short delay.
+ */
+public interface PostSearchIndex {
+    /**
+     * Adds the post, or replaces it if it is already indexed.
+     */
+    void index(PostInfo post);
+
+    void indexAll(List<PostInfo> posts);
+
+    void remove(UUID postId);
+
+    /**
+     * IDs of the posts matching any word of {@code query}, best match first.
+     */
+    SearchPage<UUID> search(String query, int offset, int limit);
+}
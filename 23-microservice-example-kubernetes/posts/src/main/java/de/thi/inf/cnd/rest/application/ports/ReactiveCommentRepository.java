@@ -0,0 +1,17 @@
+package de.thi.inf.cnd.rest.application.ports;
+
+import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of comments for the reactive profile. Comments are written through {@link CommentRepository}.
+ */
+public interface ReactiveCommentRepository {
+    /**
+     * Like {@link CommentRepository#getComments(UUID, int, PageCursor)}.
+     */
+    Flux<Comment> getComments(UUID postId, int limit, PageCursor after);
+}
@@ -0,0 +1,16 @@
+package de.thi.inf.cnd.rest.application.ports;
+
+import de.thi.inf.cnd.rest.domain.model.Post;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of the documents maintained through {@link PostDetailProjection}.
+ */
+public interface ReactivePostDetailProjection {
+    /**
+     * The post with its comments, empty if the post has no document (yet).
+     */
+    Mono<Post> get(UUID postId);
+}
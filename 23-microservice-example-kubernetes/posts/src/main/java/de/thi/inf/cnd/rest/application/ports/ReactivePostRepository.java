@@ -0,0 +1,29 @@
+package de.thi.inf.cnd.rest.application.ports;
+
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of posts for the reactive profile. Posts are written through {@link PostRepository} only, in
+ * the transactions of the post use cases.
+ */
+public interface ReactivePostRepository {
+    /**
+     * Empty if the post does not exist.
+     */
+    Mono<PostInfo> getPost(UUID id);
+
+    /**
+     * Newest posts first, ordered by (date, id) descending, see {@link PostRepository#getPosts(int, PageCursor)}.
+     */
+    Flux<PostInfo> getPosts(int limit, PageCursor after);
+
+    /**
+     * All posts, emitted as they are read from the database.
+     */
+    Flux<PostInfo> getAllPosts();
+}
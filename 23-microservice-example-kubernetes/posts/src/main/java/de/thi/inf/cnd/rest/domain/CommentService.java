@@ -1,11 +1,30 @@
 package de.thi.inf.cnd.rest.domain;
 
 import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.CursorPage;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface CommentService {
     Comment addComment(UUID postId, String text, String userRef);
-    List<Comment> getCommentsByPostId(UUID postId);
+
+    /**
+     * Adds all comments in one transaction.
+     *
+     * @return the created comments, null if the post does not exist
+     */
+    List<Comment> addComments(UUID postId, List<String> texts, String userRef);
+
+    /**
+     * Comments of a post newest first, one page at a time. Empty if the post does not exist.
+     *
+     * @param after cursor of the last comment of the previous page, null for the first page
+     */
+    CursorPage<Comment> getComments(UUID postId, int limit, PageCursor after);
+    long countCommentsByPostId(UUID postId);
+    Map<UUID, Long> countCommentsByPostIds(Collection<UUID> postIds);
 }
@@ -1,14 +1,67 @@
 package de.thi.inf.cnd.rest.domain;
 
+import de.thi.inf.cnd.rest.domain.model.CursorPage;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
 import de.thi.inf.cnd.rest.domain.model.Post;
+import de.thi.inf.cnd.rest.domain.model.PostDetailJson;
 import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import de.thi.inf.cnd.rest.domain.model.SearchPage;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface PostService {
     PostInfo createPost(String title, String content, String userRef);
+
+    /**
+     * Creates all posts in one transaction and publishes them as a single event. Title and content are taken from
+     * the given posts, date and user are set.
+     */
+    List<PostInfo> createPosts(List<PostInfo> posts, String userRef);
     Iterable<PostInfo> findAllPosts();
+    CursorPage<PostInfo> findPosts(int limit, PageCursor after);
+    long exportPosts(Consumer<PostInfo> consumer);
+
+    /**
+     * Posts matching any word of {@code query} in title or content, best match first.
+     */
+    SearchPage<PostInfo> searchPosts(String query, int offset, int limit);
+    List<UUID> findPostIds(int limit, UUID after);
     Post getPost(UUID id);
-    PostInfo removePost(UUID id, String userRef);
-    PostInfo updatePost(UUID id, String title, String content, String userRef);
+
+    /**
+     * The post with its comments as the JSON document of the post detail projection, without parsing it. Null if
+     * the post has no document, {@link #getPost(UUID)} then assembles it from the posts and comments.
+     */
+    PostDetailJson getPostJson(UUID id);
+
+    /**
+     * Regenerates the post detail projection read by {@link #getPost(UUID)} from the posts and comments.
+     *
+     * @return number of posts
+     */
+    long rebuildPostDetails();
+
+    /**
+     * The post without its comments, e.g. to check its version before loading them.
+     */
+    PostInfo getPostInfo(UUID id);
+
+    /**
+     * Deletes the post if it belongs to {@code userRef} and, unless {@code expectedVersion} is null, still has that
+     * version.
+     *
+     * @return false if the post does not exist
+     * @throws SecurityException if the post belongs to another user
+     * @throws VersionConflictException if the post has another version
+     */
+    boolean removePost(UUID id, String userRef, Long expectedVersion);
+
+    /**
+     * Updates title and content under the same conditions as {@link #removePost(UUID, String, Long)}.
+     *
+     * @return the updated post, null if it does not exist
+     */
+    PostInfo updatePost(UUID id, String title, String content, String userRef, Long expectedVersion);
 }
@@ -0,0 +1,18 @@
+package de.thi.inf.cnd.rest.domain;
+
+import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.CursorPage;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The comment use cases of {@link CommentService} for the reactive profile. Empty if the post does not exist.
+ */
+public interface ReactiveCommentService {
+    Mono<Comment> addComment(UUID postId, String text, String userRef);
+    Mono<List<Comment>> addComments(UUID postId, List<String> texts, String userRef);
+    Mono<CursorPage<Comment>> getComments(UUID postId, int limit, PageCursor after);
+}
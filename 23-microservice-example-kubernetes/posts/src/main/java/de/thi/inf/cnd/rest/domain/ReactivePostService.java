@@ -0,0 +1,28 @@
+package de.thi.inf.cnd.rest.domain;
+
+import de.thi.inf.cnd.rest.domain.model.CursorPage;
+import de.thi.inf.cnd.rest.domain.model.PageCursor;
+import de.thi.inf.cnd.rest.domain.model.Post;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import de.thi.inf.cnd.rest.domain.model.SearchPage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The post use cases of {@link PostService} for the reactive profile. Empty results stand for the nulls of
+ * PostService, a {@link SecurityException} or {@link VersionConflictException} is signalled as error.
+ */
+public interface ReactivePostService {
+    Mono<PostInfo> createPost(String title, String content, String userRef);
+    Mono<List<PostInfo>> createPosts(List<PostInfo> posts, String userRef);
+    Mono<CursorPage<PostInfo>> findPosts(int limit, PageCursor after);
+    Flux<PostInfo> exportPosts();
+    Mono<SearchPage<PostInfo>> searchPosts(String query, int offset, int limit);
+    Mono<Post> getPost(UUID id);
+    Mono<PostInfo> getPostInfo(UUID id);
+    Mono<Boolean> removePost(UUID id, String userRef, Long expectedVersion);
+    Mono<PostInfo> updatePost(UUID id, String title, String content, String userRef, Long expectedVersion);
+}
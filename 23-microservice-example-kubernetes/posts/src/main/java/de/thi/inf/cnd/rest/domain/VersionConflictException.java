@@ -0,0 +1,17 @@
+package de.thi.inf.cnd.rest.domain;
+
+/**
+ * The post was changed since the client read it: the version it expected is no longer the current one.
+ */
+public class VersionConflictException extends RuntimeException {
+    private final long currentVersion;
+
+    public VersionConflictException(String message, long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
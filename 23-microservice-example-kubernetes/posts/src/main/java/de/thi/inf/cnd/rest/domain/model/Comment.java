@@ -6,11 +6,23 @@ import lombok.Data;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.UUID;
 
 @Data
 @AllArgsConstructor
 public class Comment {
+    /**
+     * Order of comment pages: (date, id) descending. IDs are compared as unsigned, the way the databases compare
+     * them, so cursors taken from a sorted list continue correctly in a query.
+     */
+    public static final Comparator<Comment> NEWEST_FIRST = Comparator.comparing(Comment::getDate)
+            .thenComparing(Comment::getId, (a, b) -> {
+                int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+                return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+            })
+            .reversed();
+
     @Setter(AccessLevel.NONE)
     private UUID id;
     private String text;
@@ -18,6 +30,6 @@ public class Comment {
     private String userRef;
 
     public Comment() {
-        this.id = UUID.randomUUID();
+        this.id = Ids.next();
     }
 }
\ No newline at end of file
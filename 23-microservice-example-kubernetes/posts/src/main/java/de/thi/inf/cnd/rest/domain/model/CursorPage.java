@@ -0,0 +1,20 @@
+package de.thi.inf.cnd.rest.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset paginated result. {@code next} is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private PageCursor next;
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,21 @@
+package de.thi.inf.cnd.rest.domain.model;
+
+import java.util.UUID;
+
+/**
+ * Creates the IDs of new posts and comments, see {@link Ids}.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+    /**
+     * Random UUIDv4 from SecureRandom, as before: inserts land anywhere in the primary key index.
+     */
+    IdGenerator RANDOM = UUID::randomUUID;
+
+    /**
+     * Time-ordered UUIDv7: new IDs sort after older ones, so inserts append to the end of the primary key index.
+     */
+    IdGenerator TIME_ORDERED = new TimeOrderedIdGenerator();
+
+    UUID next();
+}
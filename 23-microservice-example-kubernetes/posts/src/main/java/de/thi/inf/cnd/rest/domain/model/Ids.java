@@ -0,0 +1,27 @@
+package de.thi.inf.cnd.rest.domain.model;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Source of the IDs assigned by new {@link PostInfo}, {@link Post} and {@link Comment} objects.
+ * Uses {@link IdGenerator#TIME_ORDERED} unless another generator is set at startup.
+ */
+public final class Ids {
+    private static volatile IdGenerator generator = IdGenerator.TIME_ORDERED;
+
+    private Ids() {
+    }
+
+    public static UUID next() {
+        return generator.next();
+    }
+
+    public static IdGenerator getGenerator() {
+        return generator;
+    }
+
+    public static void setGenerator(IdGenerator generator) {
+        Ids.generator = Objects.requireNonNull(generator);
+    }
+}
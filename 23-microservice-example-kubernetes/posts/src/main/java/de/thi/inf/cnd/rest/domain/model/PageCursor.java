@@ -0,0 +1,50 @@
+package de.thi.inf.cnd.rest.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a (date, id) ordered result, pointing at the last element of a page.
+ * The next page starts strictly after this position.
+ */
+@Data
+@AllArgsConstructor
+public class PageCursor {
+    private static final char SEPARATOR = '|';
+
+    private LocalDateTime date;
+    private UUID id;
+
+    /**
+     * Opaque, URL-safe form of the cursor. Clients must not interpret it, they just pass it to the next request.
+     */
+    public String encode() {
+        String raw = this.date.toString() + SEPARATOR + this.id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code value} is not an encoded cursor
+     */
+    public static PageCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return new PageCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date", e);
+        }
+    }
+}
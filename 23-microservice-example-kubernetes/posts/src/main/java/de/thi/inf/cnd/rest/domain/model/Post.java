@@ -23,4 +23,16 @@ public class Post extends PostInfo {
         super(id, title, content, date, userRef);
         this.comments = comments;
     }
+
+    /**
+     * Position of the oldest included comment if the post has more comments than included, where the next page of
+     * comments starts. Null if all comments are included. Expects the comments newest first.
+     */
+    public PageCursor nextCommentsCursor() {
+        if (this.comments.isEmpty() || getCommentCount() <= this.comments.size()) {
+            return null;
+        }
+        Comment last = this.comments.get(this.comments.size() - 1);
+        return new PageCursor(last.getDate(), last.getId());
+    }
 }
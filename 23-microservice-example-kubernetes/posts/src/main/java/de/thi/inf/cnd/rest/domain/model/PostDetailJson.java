@@ -0,0 +1,18 @@
+package de.thi.inf.cnd.rest.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Detail of a post as the JSON document of the post detail projection, in the layout of the response of
+ * GET /posts/{id}. The version is the version of the post the document was built from.
+ */
+@Data
+@AllArgsConstructor
+public class PostDetailJson {
+    private UUID id;
+    private long version;
+    private String json;
+}
@@ -15,8 +15,17 @@ public class PostInfo {
     private String content;
     private LocalDateTime date;
     private String userRef;
+    // Maintained by the repository when comments are added
+    private long commentCount;
+    private LocalDateTime lastCommentAt;
+    // Changes whenever the post or its comments change
+    private long version;
 
     public PostInfo() {
-        this.id = UUID.randomUUID();
+        this.id = Ids.next();
+    }
+
+    public PostInfo(UUID id, String title, String content, LocalDateTime date, String userRef) {
+        this(id, title, content, date, userRef, 0, null, 0);
     }
 }
@@ -0,0 +1,20 @@
+package de.thi.inf.cnd.rest.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of search results, best match first. {@code hasNext} is true if more results follow.
+ */
+@Data
+@AllArgsConstructor
+public class SearchPage<T> {
+    private List<T> items;
+    private boolean hasNext;
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+}
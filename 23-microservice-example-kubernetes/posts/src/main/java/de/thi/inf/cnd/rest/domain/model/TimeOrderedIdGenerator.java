@@ -0,0 +1,26 @@
+package de.thi.inf.cnd.rest.domain.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * UUIDv7 (RFC 9562): 48 bit Unix timestamp in milliseconds, followed by version, variant and 74 random bits.
+ *
+ * IDs of different milliseconds are ordered by time, both as UUID and as the BINARY(16) Hibernate stores in MySQL.
+ * Within the same millisecond the order is random, which only affects the last index page.
+ *
+ * The random bits come from ThreadLocalRandom instead of the shared SecureRandom of UUID.randomUUID(), so concurrent
+ * requests never wait for each other. The IDs are unique, not secret: don't use them as tokens.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC = 0x8000_0000_0000_0000L;
+
+    @Override
+    public UUID next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (System.currentTimeMillis() << 16) | VERSION_7 | (random.nextInt() & 0x0FFF);
+        long leastSigBits = VARIANT_RFC | (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
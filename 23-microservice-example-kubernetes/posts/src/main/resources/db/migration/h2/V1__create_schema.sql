@@ -0,0 +1,21 @@
+-- Schema of the posts service as Hibernate created it from the entities (ddl-auto=update) before Flyway took over.
+-- Such databases are baselined at version 0, so this script also runs on them and must leave existing tables alone.
+-- Keep in sync with mysql/V1__create_schema.sql.
+
+create table if not exists post_entity (
+    id uuid not null,
+    title varchar(255),
+    content varchar(255),
+    date timestamp(6),
+    user_ref varchar(255),
+    primary key (id)
+);
+
+create table if not exists comment_entity (
+    id uuid not null,
+    post_id uuid,
+    text varchar(255),
+    date timestamp(6),
+    user_ref varchar(255),
+    primary key (id)
+);
@@ -0,0 +1,31 @@
+-- Columns, indexes and tables the service needs on top of the schema Hibernate created.
+-- Keep in sync with h2/V2__add_comment_counts_versions_and_event_tables.sql, the service starts with ddl-auto=validate.
+
+alter table post_entity add column comment_count bigint default 0 not null;
+alter table post_entity add column last_comment_at datetime(6);
+alter table post_entity add column version bigint default 0 not null;
+
+-- Posts of databases created before the counters existed
+update post_entity p set
+    comment_count = (select count(*) from comment_entity c where c.post_id = p.id),
+    last_comment_at = (select max(c.date) from comment_entity c where c.post_id = p.id);
+
+-- GET /posts pages newest first and the search catch-up reads changed posts in (date, id) order
+create index idx_post_date_id on post_entity (date, id);
+
+-- Comment pages, counts and deletes per post. Also serves lookups by post_id alone, no separate index for it
+create index idx_comment_post_date_id on comment_entity (post_id, date, id);
+
+create table post_detail_entity (
+    post_id binary(16) not null,
+    version bigint not null,
+    document longtext,
+    primary key (post_id)
+) engine=InnoDB;
+
+create table outbox_event_entity (
+    id bigint not null auto_increment,
+    payload longtext,
+    created_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
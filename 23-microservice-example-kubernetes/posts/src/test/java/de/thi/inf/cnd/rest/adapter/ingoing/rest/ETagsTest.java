@@ -0,0 +1,39 @@
+package de.thi.inf.cnd.rest.adapter.ingoing.rest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ETags Test
+ *
+ * The version a client expects from its If-Match header. Only a strong tag of a post, JSON or protobuf, names a
+ * version; anything else must not match any post, so the write fails with 409 instead of going through.
+ */
+class ETagsTest {
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"", "  ", "*", " * "})
+    void withoutTagAnyVersionIsExpected(String ifMatch) {
+        assertThat(ETags.expectedVersion(ifMatch)).isNull();
+    }
+
+    @Test
+    void tagsOfBothRepresentationsNameTheirVersion() {
+        assertThat(ETags.expectedVersion("\"3\"")).isEqualTo(3);
+        assertThat(ETags.expectedVersion("\"3-pb\"")).isEqualTo(3);
+        assertThat(ETags.expectedVersion(" \"0\" ")).isZero();
+        assertThat(ETags.expectedVersion(ETags.version(42))).isEqualTo(42);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"W/\"3\"", "3", "\"", "\"\"", "\"-pb\"", "\"3-json\"", "\"abc\"", "\"3\", \"4\"",
+            "\"99999999999999999999\""})
+    void otherTagsMatchNoVersion(String ifMatch) {
+        assertThat(ETags.expectedVersion(ifMatch)).isEqualTo(ETags.NO_VERSION);
+    }
+}
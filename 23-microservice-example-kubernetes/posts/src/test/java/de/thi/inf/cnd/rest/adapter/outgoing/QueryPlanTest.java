@@ -0,0 +1,128 @@
+package de.thi.inf.cnd.rest.adapter.outgoing;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query Plan Test
+ *
+ * Applies the migrations of a vendor to an in-memory H2 database in MySQL mode and checks with EXPLAIN that the
+ * queries on the request path use an index instead of scanning the table. The statements are written the way
+ * Hibernate and the R2DBC repositories send them, with literals for the parameters. Fails when a migration drops
+ * or changes an index a query depends on, or when a query is changed so that it can no longer use one.
+ */
+class QueryPlanTest {
+    private static final String POST_ID = "X'0190aaaaaaaaaaaaaaaaaaaaaaaaaaaa'";
+    private static final String OTHER_POST_ID = "X'0190bbbbbbbbbbbbbbbbbbbbbbbbbbbb'";
+    private static final String DATE = "TIMESTAMP '2026-01-01 00:00:00'";
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "mysql"})
+    void postPagesReadTheDateIndexInOrder(String vendor) throws SQLException {
+        try (Connection connection = migrate(vendor)) {
+            assertThat(explain(connection, "select * from post_entity p order by p.date desc, p.id desc limit 51"))
+                    .contains("IDX_POST_DATE_ID", "index sorted");
+            assertThat(explain(connection, "select * from post_entity p where p.date < " + DATE
+                    + " or (p.date = " + DATE + " and p.id < " + POST_ID + ") order by p.date desc, p.id desc limit 51"))
+                    .contains("IDX_POST_DATE_ID", "index sorted");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "mysql"})
+    void searchCatchUpScansTheDateIndexRange(String vendor) throws SQLException {
+        try (Connection connection = migrate(vendor)) {
+            assertThat(explain(connection, "select * from post_entity p where p.date >= " + DATE
+                    + " order by p.date, p.id limit 500"))
+                    .contains("IDX_POST_DATE_ID: DATE >=", "index sorted");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "mysql"})
+    void postWritesFindTheRowByPrimaryKey(String vendor) throws SQLException {
+        try (Connection connection = migrate(vendor)) {
+            assertThat(explain(connection, "update post_entity p set comment_count = comment_count + 1, "
+                    + "version = version + 1 where p.id = " + POST_ID))
+                    .contains("PRIMARY_KEY_");
+            assertThat(explain(connection, "update post_entity p set title = 'title', version = version + 1 "
+                    + "where p.id = " + POST_ID + " and p.user_ref = 'user' and p.version = 3"))
+                    .contains("PRIMARY_KEY_");
+            assertThat(explain(connection, "select * from post_detail_entity d where d.post_id = " + POST_ID))
+                    .contains("PRIMARY_KEY_");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "mysql"})
+    void commentPagesSeekThePostInTheCommentIndex(String vendor) throws SQLException {
+        try (Connection connection = migrate(vendor)) {
+            // H2 only reports "index sorted" without an equality prefix, the rows of one post are in (date, id) order
+            assertThat(explain(connection, "select * from comment_entity c where c.post_id = " + POST_ID
+                    + " order by c.date desc, c.id desc limit 51"))
+                    .contains("IDX_COMMENT_POST_DATE_ID: POST_ID =");
+            assertThat(explain(connection, "select * from comment_entity c where c.post_id = " + POST_ID
+                    + " and (c.date < " + DATE + " or (c.date = " + DATE + " and c.id < " + POST_ID + "))"
+                    + " order by c.date desc, c.id desc limit 51"))
+                    .contains("IDX_COMMENT_POST_DATE_ID: POST_ID =");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "mysql"})
+    void commentCountsAndDeletesSeekThePostInTheCommentIndex(String vendor) throws SQLException {
+        try (Connection connection = migrate(vendor)) {
+            assertThat(explain(connection, "select count(c.id) from comment_entity c where c.post_id = " + POST_ID))
+                    .contains("IDX_COMMENT_POST_DATE_ID: POST_ID =");
+            assertThat(explain(connection, "select c.post_id, count(c.id) from comment_entity c where c.post_id in ("
+                    + POST_ID + ", " + OTHER_POST_ID + ") group by c.post_id"))
+                    .contains("IDX_COMMENT_POST_DATE_ID: POST_ID IN");
+            assertThat(explain(connection, "delete from comment_entity c where c.post_id = " + POST_ID))
+                    .contains("IDX_COMMENT_POST_DATE_ID: POST_ID =");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "mysql"})
+    void backgroundJobsWalkThePrimaryKey(String vendor) throws SQLException {
+        try (Connection connection = migrate(vendor)) {
+            // Orphan purge: a primary key range of comments, each checked against the primary key of the posts
+            assertThat(explain(connection, "delete from comment_entity c where c.id between " + POST_ID + " and "
+                    + OTHER_POST_ID + " and not exists (select p.id from post_entity p where p.id = c.post_id)"))
+                    .contains("ID >= " + POST_ID, "ID = C.POST_ID")
+                    .doesNotContain("tableScan");
+            // Outbox relay
+            assertThat(explain(connection, "select * from outbox_event_entity e order by e.id limit 100"))
+                    .contains("PRIMARY_KEY_", "index sorted");
+        }
+    }
+
+    private static Connection migrate(String vendor) throws SQLException {
+        // The database lives as long as the returned connection is open
+        String url = "jdbc:h2:mem:plans-" + vendor + ";MODE=MySQL";
+        Connection connection = DriverManager.getConnection(url, "sa", "");
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration/" + vendor)
+                .load()
+                .migrate();
+        return connection;
+    }
+
+    private static String explain(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("explain " + sql)) {
+            plan.next();
+            return plan.getString(1);
+        }
+    }
+}
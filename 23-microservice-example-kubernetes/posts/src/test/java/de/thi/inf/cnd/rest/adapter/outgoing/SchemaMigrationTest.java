@@ -0,0 +1,118 @@
+package de.thi.inf.cnd.rest.adapter.outgoing;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Schema Migration Test
+ *
+ * Starts from a database the way Hibernate created it before Flyway took over (ddl-auto=update, only posts and
+ * comments) and migrates it with the baseline settings of application.yml. Fails when the migrations can't upgrade
+ * such a database or leave it with a different schema than an empty database gets.
+ */
+class SchemaMigrationTest {
+    private static final String POST_ID = "X'0190aaaaaaaaaaaaaaaaaaaaaaaaaaaa'";
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "mysql"})
+    void hibernateCreatedDatabasesEndUpWithTheSchemaOfNewOnes(String vendor) throws SQLException {
+        try (Connection fresh = open("fresh-" + vendor);
+             Connection existing = open("existing-" + vendor)) {
+            createHibernateSchema(existing, vendor);
+            migrate("fresh-" + vendor, vendor);
+            migrate("existing-" + vendor, vendor);
+
+            assertThat(columns(existing)).isNotEmpty().isEqualTo(columns(fresh));
+            assertThat(indexes(existing)).contains("IDX_POST_DATE_ID", "IDX_COMMENT_POST_DATE_ID").isEqualTo(indexes(fresh));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "mysql"})
+    void existingPostsGetTheirCommentCounters(String vendor) throws SQLException {
+        try (Connection connection = open("counters-" + vendor)) {
+            createHibernateSchema(connection, vendor);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("insert into post_entity (id, title, date) values (" + POST_ID + ", 'post', "
+                        + "timestamp '2026-01-01 00:00:00')");
+                statement.execute("insert into comment_entity (id, post_id, text, date) values "
+                        + "(X'0190cccccccccccccccccccccccccccc', " + POST_ID + ", 'first', timestamp '2026-01-02 00:00:00'), "
+                        + "(X'0190dddddddddddddddddddddddddddd', " + POST_ID + ", 'second', timestamp '2026-01-03 00:00:00')");
+            }
+            migrate("counters-" + vendor, vendor);
+
+            try (Statement statement = connection.createStatement();
+                 ResultSet post = statement.executeQuery("select comment_count, last_comment_at, version from post_entity")) {
+                assertThat(post.next()).isTrue();
+                assertThat(post.getLong(1)).isEqualTo(2);
+                assertThat(post.getTimestamp(2)).hasToString("2026-01-03 00:00:00.0");
+                assertThat(post.getLong(3)).isZero();
+            }
+        }
+    }
+
+    private static Connection open(String name) throws SQLException {
+        // The database lives as long as the returned connection is open
+        return DriverManager.getConnection(url(name), "sa", "");
+    }
+
+    private static String url(String name) {
+        return "jdbc:h2:mem:migration-" + name + ";MODE=MySQL";
+    }
+
+    private static void migrate(String name, String vendor) {
+        // Same baseline settings as spring.flyway in application.yml
+        Flyway.configure()
+                .dataSource(url(name), "sa", "")
+                .locations("classpath:db/migration/" + vendor)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    private static void createHibernateSchema(Connection connection, String vendor) throws SQLException {
+        // The tables Hibernate generated for PostEntity and CommentEntity before comment counts and versions existed
+        String uuid = vendor.equals("mysql") ? "binary(16)" : "uuid";
+        String timestamp = vendor.equals("mysql") ? "datetime(6)" : "timestamp(6)";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table post_entity (id " + uuid + " not null, title varchar(255), "
+                    + "content varchar(255), date " + timestamp + ", user_ref varchar(255), primary key (id))");
+            statement.execute("create table comment_entity (id " + uuid + " not null, post_id " + uuid + ", "
+                    + "text varchar(255), date " + timestamp + ", user_ref varchar(255), primary key (id))");
+        }
+    }
+
+    private static List<String> columns(Connection connection) throws SQLException {
+        return query(connection, "select table_name || '.' || column_name || ' ' || data_type || ' ' || is_nullable "
+                + "|| ' ' || coalesce(column_default, '') from information_schema.columns where table_schema = 'PUBLIC' "
+                + "and table_name <> 'flyway_schema_history' order by table_name, column_name");
+    }
+
+    private static List<String> indexes(Connection connection) throws SQLException {
+        return query(connection, "select index_name from information_schema.indexes where table_schema = 'PUBLIC' "
+                + "and table_name <> 'flyway_schema_history' and index_type_name <> 'PRIMARY KEY' order by index_name");
+    }
+
+    private static List<String> query(Connection connection, String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(sql)) {
+            while (result.next()) {
+                rows.add(result.getString(1));
+            }
+        }
+        return rows;
+    }
+}
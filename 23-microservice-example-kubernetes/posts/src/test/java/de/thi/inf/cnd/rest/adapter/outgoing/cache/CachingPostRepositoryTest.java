@@ -0,0 +1,155 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.cache;
+
+import de.thi.inf.cnd.rest.application.ports.PostRepository;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Caching Post Repository Test
+ *
+ * The real PostCache behind the decorator, with the transaction driven by hand. Inside a transaction an invalidation
+ * waits for the completion, but the writing transaction itself must already read its own write, e.g. when
+ * PostServiceImpl.updatePost() reads the post for the response and the search index.
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingPostRepositoryTest {
+    private static final UUID POST_ID = UUID.fromString("0190aaaa-aaaa-7aaa-8aaa-aaaaaaaaaaaa");
+
+    @Mock
+    private PostRepository delegate;
+    @Mock
+    private CacheInvalidationBroadcaster broadcaster;
+
+    private CachingPostRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        PostCache cache = new PostCache(100, Duration.ofMinutes(5), broadcaster, new SimpleMeterRegistry());
+        this.repository = new CachingPostRepository(delegate, cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void writingTransactionReadsItsUpdateInsteadOfTheCachedPost() {
+        when(delegate.getPost(POST_ID)).thenReturn(post("old", 1));
+        assertThat(repository.getPost(POST_ID).getTitle()).isEqualTo("old");
+
+        TransactionSynchronizationManager.initSynchronization();
+        when(delegate.updateIfOwner(any(), any())).thenReturn(true);
+        repository.updateIfOwner(post("new", 1), 1L);
+        when(delegate.getPost(POST_ID)).thenReturn(post("new", 2));
+
+        PostInfo read = repository.getPost(POST_ID);
+        assertThat(read.getTitle()).isEqualTo("new");
+        assertThat(read.getVersion()).isEqualTo(2);
+        verify(broadcaster, never()).broadcast(any());
+    }
+
+    @Test
+    void commitEvictsAndBroadcasts() {
+        when(delegate.getPost(POST_ID)).thenReturn(post("old", 1));
+        repository.getPost(POST_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        when(delegate.updateIfOwner(any(), any())).thenReturn(true);
+        repository.updateIfOwner(post("new", 1), 1L);
+        when(delegate.getPost(POST_ID)).thenReturn(post("new", 2));
+        repository.getPost(POST_ID);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(repository.getPost(POST_ID).getTitle()).isEqualTo("new");
+        ArgumentCaptor<CacheInvalidation> invalidation = ArgumentCaptor.forClass(CacheInvalidation.class);
+        verify(broadcaster).broadcast(invalidation.capture());
+        assertThat(invalidation.getValue().getType()).isEqualTo(CacheInvalidation.Type.POST);
+        assertThat(invalidation.getValue().getPostId()).isEqualTo(POST_ID);
+    }
+
+    @Test
+    void readsInTheWritingTransactionAreNotCached() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(delegate.updateIfOwner(any(), any())).thenReturn(true);
+        repository.updateIfOwner(post("new", 1), 1L);
+        when(delegate.getPost(POST_ID)).thenReturn(post("new", 2));
+        repository.getPost(POST_ID);
+        repository.getPost(POST_ID);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Rolled back: the uncommitted write must not be served afterwards
+        when(delegate.getPost(POST_ID)).thenReturn(post("old", 1));
+        assertThat(repository.getPost(POST_ID).getTitle()).isEqualTo("old");
+        verify(delegate, times(3)).getPost(POST_ID);
+    }
+
+    @Test
+    void rollbackEvictsWithoutBroadcasting() {
+        when(delegate.getPost(POST_ID)).thenReturn(post("old", 1));
+        repository.getPost(POST_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        when(delegate.deleteIfOwner(POST_ID, "alice", null)).thenReturn(true);
+        repository.deleteIfOwner(POST_ID, "alice", null);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        repository.getPost(POST_ID);
+        verify(delegate, times(2)).getPost(POST_ID);
+        verify(broadcaster, never()).broadcast(any());
+    }
+
+    @Test
+    void conflictEvictsRightAway() {
+        when(delegate.getPost(POST_ID)).thenReturn(post("old", 1));
+        repository.getPost(POST_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        when(delegate.updateIfOwner(any(), any())).thenReturn(false);
+        repository.updateIfOwner(post("new", 0), 0L);
+        verify(broadcaster).broadcast(any());
+
+        // The conflict check reads the current row and may cache it, nothing was written
+        when(delegate.getPost(POST_ID)).thenReturn(post("other", 2));
+        assertThat(repository.getPost(POST_ID).getTitle()).isEqualTo("other");
+        assertThat(repository.getPost(POST_ID).getTitle()).isEqualTo("other");
+        verify(delegate, times(2)).getPost(POST_ID);
+    }
+
+    /**
+     * Like AbstractPlatformTransactionManager: synchronization ends before afterCompletion() is called.
+     */
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+
+    private static PostInfo post(String title, long version) {
+        return new PostInfo(POST_ID, title, "content", LocalDateTime.of(2025, 1, 1, 12, 0), "alice", 0, null, version);
+    }
+}
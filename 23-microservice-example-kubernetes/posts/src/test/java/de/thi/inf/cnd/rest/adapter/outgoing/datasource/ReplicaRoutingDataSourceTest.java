@@ -0,0 +1,197 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replica Routing DataSource Test
+ *
+ * Routes reads over mocked pools. The lag check runs against a mocked SHOW REPLICA STATUS result, each pool hands out
+ * its own connection, so the returned connection tells which pool served a read.
+ */
+class ReplicaRoutingDataSourceTest {
+    private static final Duration MAX_LAG = Duration.ofSeconds(2);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HikariDataSource primary = pool("primary");
+    private final Connection primaryConnection = connection(primary);
+
+    @Test
+    void replicasTakeTurns() throws SQLException {
+        HikariDataSource first = replica("replica-1", 0L);
+        HikariDataSource second = replica("replica-2", 1L);
+        ReplicaRoutingDataSource dataSource = dataSource(first, second);
+        dataSource.checkReplicas();
+
+        assertThat(List.of(dataSource.getConnection(), dataSource.getConnection(), dataSource.getConnection(),
+                dataSource.getConnection()))
+                .containsExactly(first.getConnection(), second.getConnection(), first.getConnection(),
+                        second.getConnection());
+        assertThat(reads("replica-1")).isEqualTo(2);
+        assertThat(reads("replica-2")).isEqualTo(2);
+        assertThat(reads("primary")).isZero();
+    }
+
+    @Test
+    void readsGoToThePrimaryUntilAReplicaPassedACheck() throws SQLException {
+        ReplicaRoutingDataSource dataSource = dataSource(replica("replica-1", 0L));
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(reads("primary")).isEqualTo(1);
+    }
+
+    @Test
+    void aReplicaWithoutConnectionIsTakenOutUntilTheNextCheck() throws SQLException {
+        HikariDataSource failing = replica("replica-1", 0L);
+        HikariDataSource healthy = replica("replica-2", 0L);
+        ReplicaRoutingDataSource dataSource = dataSource(failing, healthy);
+        dataSource.checkReplicas();
+        Connection failingConnection = failing.getConnection();
+        when(failing.getConnection()).thenThrow(new SQLException("Connection is not available"));
+
+        assertThat(dataSource.getConnection()).isSameAs(healthy.getConnection());
+        assertThat(dataSource.getConnection()).isSameAs(healthy.getConnection());
+        assertThat(gauge("posts.datasource.replica.available", "replica-1")).isZero();
+
+        // The pool recovered, the next check puts the replica back into the rotation
+        doReturn(failingConnection).when(failing).getConnection();
+        dataSource.checkReplicas();
+        assertThat(List.of(dataSource.getConnection(), dataSource.getConnection()))
+                .containsExactlyInAnyOrder(failingConnection, healthy.getConnection());
+    }
+
+    @Test
+    void unreachableReplicasLeaveThePrimary() throws SQLException {
+        HikariDataSource unreachable = replica("replica-1", 0L);
+        when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaRoutingDataSource dataSource = dataSource(unreachable);
+        dataSource.checkReplicas();
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(gauge("posts.datasource.replica.lag", "replica-1")).isEqualTo(-1);
+    }
+
+    @Test
+    void lagBeyondMaxLagTakesTheReplicaOut() throws SQLException {
+        HikariDataSource lagging = replica("replica-1", 5L);
+        HikariDataSource current = replica("replica-2", 2L);
+        ReplicaRoutingDataSource dataSource = dataSource(lagging, current);
+        dataSource.checkReplicas();
+
+        assertThat(List.of(dataSource.getConnection(), dataSource.getConnection()))
+                .containsOnly(current.getConnection());
+        assertThat(gauge("posts.datasource.replica.available", "replica-1")).isZero();
+        assertThat(gauge("posts.datasource.replica.lag", "replica-1")).isEqualTo(5);
+        assertThat(gauge("posts.datasource.replica.available", "replica-2")).isEqualTo(1);
+    }
+
+    @Test
+    void stoppedReplicationTakesTheReplicaOut() throws SQLException {
+        // SHOW REPLICA STATUS reports NULL lag while the replication threads are stopped
+        ReplicaRoutingDataSource dataSource = dataSource(replica("replica-1", null));
+        dataSource.checkReplicas();
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readFromPrimaryPinsReadsToThePrimary() throws SQLException {
+        HikariDataSource replica = replica("replica-1", 0L);
+        ReplicaRoutingDataSource dataSource = dataSource(replica);
+        dataSource.checkReplicas();
+
+        assertThat(ReplicaRoutingDataSource.readFromPrimary(() -> connect(dataSource))).isSameAs(primaryConnection);
+        // Nested calls keep the pin until the outermost one returns
+        assertThat(ReplicaRoutingDataSource.readFromPrimary(() -> {
+            ReplicaRoutingDataSource.readFromPrimary(() -> connect(dataSource));
+            return connect(dataSource);
+        })).isSameAs(primaryConnection);
+        assertThat(dataSource.getConnection()).isSameAs(replica.getConnection());
+    }
+
+    @Test
+    void connectionsWithOtherCredentialsAreNotSupported() {
+        ReplicaRoutingDataSource dataSource = dataSource(replica("replica-1", 0L));
+
+        assertThatThrownBy(() -> dataSource.getConnection("other", "secret"))
+                .isInstanceOf(SQLFeatureNotSupportedException.class);
+    }
+
+    private ReplicaRoutingDataSource dataSource(HikariDataSource... replicas) {
+        return new ReplicaRoutingDataSource(primary, List.of(replicas), MAX_LAG, "SHOW REPLICA STATUS", meterRegistry);
+    }
+
+    /**
+     * A replica pool whose lag check reports {@code lagSeconds} in Seconds_Behind_Source, null for stopped replication.
+     */
+    private static HikariDataSource replica(String name, Long lagSeconds) {
+        HikariDataSource pool = pool(name);
+        try {
+            Connection connection = connection(pool);
+            Statement statement = mock(Statement.class);
+            ResultSet result = mock(ResultSet.class);
+            ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+            when(connection.createStatement()).thenReturn(statement);
+            when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(result);
+            when(result.next()).thenReturn(true);
+            when(result.getMetaData()).thenReturn(metaData);
+            when(metaData.getColumnCount()).thenReturn(2);
+            when(metaData.getColumnLabel(1)).thenReturn("Replica_IO_State");
+            when(metaData.getColumnLabel(2)).thenReturn("Seconds_Behind_Source");
+            when(result.getLong(2)).thenReturn(lagSeconds == null ? 0 : lagSeconds);
+            when(result.wasNull()).thenReturn(lagSeconds == null);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return pool;
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        when(pool.getPoolName()).thenReturn(name);
+        return pool;
+    }
+
+    private static Connection connection(HikariDataSource pool) {
+        Connection connection = mock(Connection.class);
+        try {
+            when(pool.getConnection()).thenReturn(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return connection;
+    }
+
+    private static Connection connect(ReplicaRoutingDataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("posts.datasource.reads").tag("target", target).counter().count();
+    }
+
+    private double gauge(String name, String replica) {
+        return meterRegistry.get(name).tag("replica", replica).gauge().value();
+    }
+}
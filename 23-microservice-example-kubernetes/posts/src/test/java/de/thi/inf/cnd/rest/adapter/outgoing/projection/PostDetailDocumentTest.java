@@ -0,0 +1,89 @@
+package de.thi.inf.cnd.rest.adapter.outgoing.projection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.thi.inf.cnd.rest.adapter.ingoing.rest.post.PostDetailResponse;
+import de.thi.inf.cnd.rest.domain.model.Comment;
+import de.thi.inf.cnd.rest.domain.model.Post;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Post Detail Document Test
+ *
+ * GET /posts/{id} sends the stored document as the JSON response, so it has to be the same JSON that
+ * PostDetailResponse is serialized to, and still carry what the projector needs to update it.
+ */
+class PostDetailDocumentTest {
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 1, 2, 3, 4, 5, 600_000_000);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void documentIsTheResponseBody() throws Exception {
+        Post post = post(2);
+
+        String document = objectMapper.writeValueAsString(PostDetailDocument.fromDomain(post));
+
+        assertThat(document).isEqualTo(objectMapper.writeValueAsString(PostDetailResponse.fromDomain(post)));
+    }
+
+    @Test
+    void documentWithoutCommentsIsTheResponseBody() throws Exception {
+        Post post = post(0);
+
+        String document = objectMapper.writeValueAsString(PostDetailDocument.fromDomain(post));
+
+        assertThat(document).isEqualTo(objectMapper.writeValueAsString(PostDetailResponse.fromDomain(post)));
+    }
+
+    @Test
+    void documentWithOlderCommentsLeftOutIsTheResponseBody() throws Exception {
+        Post post = post(2);
+        post.setCommentCount(5);
+
+        String document = objectMapper.writeValueAsString(PostDetailDocument.fromDomain(post));
+
+        assertThat(document).isEqualTo(objectMapper.writeValueAsString(PostDetailResponse.fromDomain(post)));
+        assertThat(objectMapper.readValue(document, PostDetailDocument.class).getCommentsNext()).isNotNull();
+    }
+
+    @Test
+    void parsedDocumentRestoresThePost() throws Exception {
+        Post post = post(3);
+        post.setCommentCount(10);
+
+        String document = objectMapper.writeValueAsString(PostDetailDocument.fromDomain(post));
+        Post parsed = objectMapper.readValue(document, PostDetailDocument.class).toDomain(7);
+
+        assertThat(parsed.getId()).isEqualTo(post.getId());
+        assertThat(parsed.getTitle()).isEqualTo(post.getTitle());
+        assertThat(parsed.getContent()).isEqualTo(post.getContent());
+        assertThat(parsed.getDate()).isEqualTo(post.getDate());
+        assertThat(parsed.getUserRef()).isEqualTo(post.getUserRef());
+        assertThat(parsed.getComments()).extracting(Comment::getId)
+                .containsExactlyElementsOf(post.getComments().stream().map(Comment::getId).toList());
+        assertThat(parsed.getCommentCount()).isEqualTo(10);
+        assertThat(parsed.getLastCommentAt()).isEqualTo(DATE.plusMinutes(2));
+        assertThat(parsed.getVersion()).isEqualTo(7);
+    }
+
+    private static Post post(int comments) {
+        // Newest first, like the projector keeps them
+        List<Comment> postComments = new ArrayList<>();
+        for (int i = comments - 1; i >= 0; i--) {
+            postComments.add(new Comment(UUID.randomUUID(), "Comment " + i, DATE.plusMinutes(i), "user-" + i));
+        }
+        Post post = new Post(UUID.randomUUID(), "Title", "Content with \"quotes\" and ümlauts", DATE, "author",
+                postComments);
+        post.setCommentCount(comments);
+        post.setLastCommentAt(comments == 0 ? null : DATE.plusMinutes(comments - 1));
+        return post;
+    }
+}
@@ -0,0 +1,144 @@
+package de.thi.inf.cnd.rest.application;
+
+import de.thi.inf.cnd.rest.application.ports.CommentRepository;
+import de.thi.inf.cnd.rest.application.ports.PostDetailProjection;
+import de.thi.inf.cnd.rest.application.ports.PostPublisher;
+import de.thi.inf.cnd.rest.application.ports.PostRepository;
+import de.thi.inf.cnd.rest.application.ports.PostSearchIndex;
+import de.thi.inf.cnd.rest.domain.VersionConflictException;
+import de.thi.inf.cnd.rest.domain.model.PostInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Post Service Test
+ *
+ * Conditional updates and deletes take a single statement and only look at the post when it matched no row. Checks
+ * that the failure is reported the way RestPost maps it: nothing (404) for a missing post, SecurityException (403)
+ * for another user's post and VersionConflictException (409) with the current version for a stale If-Match.
+ */
+@ExtendWith(MockitoExtension.class)
+class PostServiceImplTest {
+    private static final UUID POST_ID = UUID.fromString("0190aaaa-aaaa-7aaa-8aaa-aaaaaaaaaaaa");
+
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private CommentRepository commentRepository;
+    @Mock
+    private PostPublisher postPublisher;
+    @Mock
+    private PostSearchIndex postSearchIndex;
+    @Mock
+    private PostDetailProjection postDetailProjection;
+    @Mock
+    private PostDetailProjector postDetailProjector;
+
+    private PostServiceImpl postService;
+
+    @BeforeEach
+    void setUp() {
+        this.postService = new PostServiceImpl(postRepository, postPublisher, commentRepository, postSearchIndex,
+                postDetailProjection, postDetailProjector, 20);
+    }
+
+    @Test
+    void removingAMissingPostReportsNotFound() {
+        when(postRepository.deleteIfOwner(POST_ID, "alice", 3L)).thenReturn(false);
+
+        assertThat(postService.removePost(POST_ID, "alice", 3L)).isFalse();
+        verifyNoInteractions(commentRepository, postDetailProjector, postSearchIndex);
+    }
+
+    @Test
+    void removingAnotherUsersPostIsForbidden() {
+        when(postRepository.deleteIfOwner(POST_ID, "bob", null)).thenReturn(false);
+        when(postRepository.getPost(POST_ID)).thenReturn(post("alice", 3));
+
+        assertThatThrownBy(() -> postService.removePost(POST_ID, "bob", null))
+                .isInstanceOf(SecurityException.class)
+                .hasMessage("You can only delete your own posts");
+        verifyNoInteractions(commentRepository, postDetailProjector, postSearchIndex);
+    }
+
+    @Test
+    void removingAModifiedPostIsAConflict() {
+        when(postRepository.deleteIfOwner(POST_ID, "alice", 2L)).thenReturn(false);
+        when(postRepository.getPost(POST_ID)).thenReturn(post("alice", 3));
+
+        assertThatThrownBy(() -> postService.removePost(POST_ID, "alice", 2L))
+                .isInstanceOfSatisfying(VersionConflictException.class,
+                        e -> assertThat(e.getCurrentVersion()).isEqualTo(3));
+        verifyNoInteractions(commentRepository, postDetailProjector, postSearchIndex);
+    }
+
+    @Test
+    void removingAPostDeletesItsCommentsWithoutReadingIt() {
+        when(postRepository.deleteIfOwner(POST_ID, "alice", 3L)).thenReturn(true);
+
+        assertThat(postService.removePost(POST_ID, "alice", 3L)).isTrue();
+        verify(postRepository, never()).getPost(any());
+        verify(commentRepository).deleteByPostId(POST_ID);
+        verify(postDetailProjector).postDeleted(POST_ID);
+        verify(postSearchIndex).remove(POST_ID);
+    }
+
+    @Test
+    void updatingAMissingPostReportsNotFound() {
+        when(postRepository.updateIfOwner(any(), eq(3L))).thenReturn(false);
+
+        assertThat(postService.updatePost(POST_ID, "title", "content", "alice", 3L)).isNull();
+        verifyNoInteractions(postDetailProjector, postSearchIndex);
+    }
+
+    @Test
+    void updatingAnotherUsersPostIsForbidden() {
+        when(postRepository.updateIfOwner(any(), eq(3L))).thenReturn(false);
+        when(postRepository.getPost(POST_ID)).thenReturn(post("alice", 3));
+
+        assertThatThrownBy(() -> postService.updatePost(POST_ID, "title", "content", "bob", 3L))
+                .isInstanceOf(SecurityException.class)
+                .hasMessage("You can only update your own posts");
+        verifyNoInteractions(postDetailProjector, postSearchIndex);
+    }
+
+    @Test
+    void updatingAModifiedPostIsAConflict() {
+        when(postRepository.updateIfOwner(any(), eq(2L))).thenReturn(false);
+        when(postRepository.getPost(POST_ID)).thenReturn(post("alice", 3));
+
+        assertThatThrownBy(() -> postService.updatePost(POST_ID, "title", "content", "alice", 2L))
+                .isInstanceOfSatisfying(VersionConflictException.class,
+                        e -> assertThat(e.getCurrentVersion()).isEqualTo(3));
+        verifyNoInteractions(postDetailProjector, postSearchIndex);
+    }
+
+    @Test
+    void updatingAPostWithoutDocumentReturnsTheStoredPost() {
+        PostInfo stored = post("alice", 4);
+        when(postRepository.updateIfOwner(any(), eq(3L))).thenReturn(true);
+        when(postRepository.getPost(POST_ID)).thenReturn(stored);
+
+        assertThat(postService.updatePost(POST_ID, "title", "content", "alice", 3L)).isSameAs(stored);
+        verify(postSearchIndex).index(stored);
+    }
+
+    private static PostInfo post(String userRef, long version) {
+        return new PostInfo(POST_ID, "title", "content", LocalDateTime.of(2026, 1, 1, 0, 0), userRef, 0, null, version);
+    }
+}
@@ -0,0 +1,64 @@
+package de.thi.inf.cnd.rest.domain.model;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time Ordered ID Generator Test
+ *
+ * Checks the UUIDv7 layout (RFC 9562) and that IDs of later milliseconds sort after earlier ones, both as UUID and
+ * as the bytes MySQL compares in a BINARY(16) column.
+ */
+class TimeOrderedIdGeneratorTest {
+    private final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+
+    @RepeatedTest(100)
+    void idsAreVersion7WithTheRfcVariant() {
+        UUID id = generator.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void idsStartWithTheCurrentTimeInMilliseconds() {
+        long before = System.currentTimeMillis();
+        UUID id = generator.next();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, after);
+    }
+
+    @Test
+    void idsOfLaterMillisecondsSortAfterEarlierOnes() {
+        UUID previous = generator.next();
+        for (int i = 0; i < 20; i++) {
+            waitForNextMillisecond(previous.getMostSignificantBits() >>> 16);
+            UUID next = generator.next();
+
+            assertThat(next).isGreaterThan(previous);
+            assertThat(Arrays.compareUnsigned(bytes(next), bytes(previous))).isPositive();
+            previous = next;
+        }
+    }
+
+    private static void waitForNextMillisecond(long millis) {
+        while (System.currentTimeMillis() <= millis) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static byte[] bytes(UUID id) {
+        // Byte order Hibernate stores a UUID in with MySQL
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}